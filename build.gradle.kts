@@ -2,6 +2,8 @@ plugins {
 	java
 	id("org.springframework.boot") version "3.5.4"
 	id("io.spring.dependency-management") version "1.1.7"
+	// JMH 벤치마크 (src/jmh/java) - ./gradlew jmh [-PjmhIncludes=<regex>]
+	id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "com.company"
@@ -31,6 +33,8 @@ dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-jooq")
 	implementation("org.springframework.boot:spring-boot-starter-security")
 	implementation("org.springframework.boot:spring-boot-starter-validation")
+	// Actuator + Micrometer (Dockerfile HEALTHCHECK, 운영 메트릭)
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
 	// Use Spring MVC (servlet) instead of WebFlux to match SecurityFilterChain (HttpSecurity)
 	implementation("org.springframework.boot:spring-boot-starter-web")
 	implementation("org.springframework:spring-messaging")
@@ -57,6 +61,8 @@ dependencies {
 	testImplementation("org.springframework.boot:spring-boot-starter-test")
 	testImplementation("org.springframework.graphql:spring-graphql-test")
 	testImplementation("org.springframework.security:spring-security-test")
+	// RedisPresenceStoreTest - 실제 Redis 컨테이너 (Docker 없으면 테스트 건너뜀)
+	testImplementation("org.testcontainers:junit-jupiter")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 	// JSP support
 	implementation("org.apache.tomcat.embed:tomcat-embed-jasper")
@@ -64,12 +70,39 @@ dependencies {
 	implementation("org.glassfish.web:jakarta.servlet.jsp.jstl")
 	// Dev tools (auto restart, LiveReload) - active only in IDE / not packaged in final jar
 	developmentOnly("org.springframework.boot:spring-boot-devtools")
+	// JMH 벤치마크 전용 - mock 서블릿 객체 (JwtAuthenticationFilter), in-memory DB (RefreshTokenService)
+	"jmh"("org.springframework:spring-test")
+	"jmh"("com.h2database:h2")
 }
 
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
 
+// 인프로세스 부하 테스트 (@Tag("loadtest") - PresenceLoadTest, ChallengeJoinLoadTest) - ./gradlew loadTest [-Ploadtest.clients=5000 -Ploadtest.baseline=<json>]
+// 결과는 build/reports/loadtest/ 에 JSON 으로 남김 (-Ploadtest.write-baseline=true 면 baseline 파일 갱신)
+val loadTest by tasks.registering(Test::class) {
+	description = "Runs the in-process load tests (presence WebSocket, challenge join storm)"
+	group = "verification"
+	testClassesDirs = sourceSets["test"].output.classesDirs
+	classpath = sourceSets["test"].runtimeClasspath
+	useJUnitPlatform { includeTags("loadtest") }
+	systemProperty("loadtest.enabled", "true")
+	project.properties.filterKeys { it.startsWith("loadtest.") }
+		.forEach { (key, value) -> systemProperty(key, value.toString()) }
+	maxHeapSize = "2g"
+	testLogging { showStandardStreams = true }
+	outputs.upToDateWhen { false }
+}
+
+// 배포 장비에서 직접 실행해 cost 별 hashes/sec, 인증 경로 지연 등을 측정 (결과는 JSON 으로 남겨 커밋 간 비교)
+jmh {
+	jmhVersion.set("1.37")
+	resultFormat.set("JSON")
+	resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+	(project.findProperty("jmhIncludes") as String?)?.let { includes.set(listOf(it)) }
+}
+
 // Ensure consistent UTF-8 source encoding (prevents BOM / platform default issues)
 tasks.withType<JavaCompile> {
 	options.encoding = "UTF-8"
@@ -0,0 +1,97 @@
+package com.company.dotaadminbackend.benchmark;
+
+import com.company.dotaadminbackend.application.AuthoritySnapshotService;
+import com.company.dotaadminbackend.application.PasswordHashingService;
+import com.company.dotaadminbackend.application.RefreshTokenService;
+import com.company.dotaadminbackend.config.AccessTokenDenylist;
+import com.company.dotaadminbackend.config.AuthorityClaimCodec;
+import com.company.dotaadminbackend.config.JwtAuthenticationFilter;
+import com.company.dotaadminbackend.config.JwtKeyRing;
+import com.company.dotaadminbackend.config.JwtUtil;
+import com.company.dotaadminbackend.infrastructure.adapter.AuthorityRepository;
+import com.company.dotaadminbackend.infrastructure.adapter.RoleAuthorityRepository;
+import com.company.dotaadminbackend.infrastructure.adapter.UserAuthorityRepository;
+import com.company.dotaadminbackend.infrastructure.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 인증 경로 벤치마크용 최소 Spring 컨텍스트
+ * - 실제 JwtUtil / JwtAuthenticationFilter / RefreshTokenService 빈을 그대로 사용 (웹 서버, 메일, Redis, WebSocket 제외)
+ * - DB 는 벤치마크마다 새 H2 in-memory (ddl-auto create)
+ * - application.yml 은 읽지 않는다 (Postgres 설정이 섞이지 않도록 spring.config.name 변경)
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportAutoConfiguration({
+        ConfigurationPropertiesAutoConfiguration.class,
+        DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class,
+        TransactionAutoConfiguration.class
+})
+@EntityScan(basePackages = "com.company.dotaadminbackend.infrastructure.entity")
+@EnableJpaRepositories(
+        basePackageClasses = {RefreshTokenRepository.class, AuthorityRepository.class},
+        includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = {
+                RefreshTokenRepository.class, AuthorityRepository.class,
+                RoleAuthorityRepository.class, UserAuthorityRepository.class
+        }))
+@Import({
+        JwtKeyRing.class, JwtUtil.class, AuthorityClaimCodec.class, AuthoritySnapshotService.class,
+        AccessTokenDenylist.class, JwtAuthenticationFilter.class, RefreshTokenService.class,
+        PasswordHashingService.class
+})
+public class AuthBenchmarkContext {
+
+    @Bean
+    PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder(4); // legacy refresh 경로에서만 사용 - 측정 대상 아님
+    }
+
+    @Bean
+    MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry(); // PasswordHashingService 메트릭
+    }
+
+    public static ConfigurableApplicationContext start(Map<String, Object> overrides) {
+        Map<String, Object> props = new HashMap<>();
+        props.put("spring.config.name", "jmh-benchmark");
+        props.put("spring.main.banner-mode", "off");
+        props.put("logging.level.root", "WARN");
+        props.put("spring.datasource.url", "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        props.put("spring.datasource.username", "sa");
+        props.put("spring.datasource.password", "");
+        props.put("spring.jpa.hibernate.ddl-auto", "create");
+        props.put("spring.jpa.open-in-view", "false");
+        props.put("app.jwt.secret", "benchmarkSecretKey1234567890123456789012345678901234567890123456");
+        props.put("app.jwt.expiration", "300000");
+        props.put("app.jwt.refresh-expiration", "1209600000");
+        props.putAll(overrides);
+        return new SpringApplicationBuilder(AuthBenchmarkContext.class)
+                .web(WebApplicationType.NONE)
+                .properties(props)
+                .run();
+    }
+}
@@ -0,0 +1,84 @@
+package com.company.dotaadminbackend.benchmark;
+
+import com.company.dotaadminbackend.config.JwtAuthenticationFilter;
+import com.company.dotaadminbackend.config.JwtUtil;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter 1회 통과 비용 (헤더 추출 → 검증 → denylist → SecurityContext 설정 → 체인 진행)
+ * - cacheSize=0 이면 VerifiedTokenCache 비활성화 (매 요청 서명 검증)
+ * - OncePerRequestFilter 는 요청 속성으로 중복 실행을 막으므로 매 호출마다 새 mock 요청을 만든다
+ * 실행: ./gradlew jmh -PjmhIncludes=JwtAuthenticationFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"0", "10000"})
+    public int cacheSize;
+
+    private ConfigurableApplicationContext context;
+    private JwtAuthenticationFilter filter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        context = AuthBenchmarkContext.start(Map.of("app.jwt.cache.max-size", String.valueOf(cacheSize)));
+        filter = context.getBean(JwtAuthenticationFilter.class);
+        String token = context.getBean(JwtUtil.class)
+                .generateToken("bench@example.com", "USER", List.of("CHALLENGE_READ", "CHALLENGE_WRITE", "REWARD_READ"));
+        authorizationHeader = "Bearer " + token;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int authenticatedRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/challenges");
+        request.addHeader("Authorization", authorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+            return response.getStatus();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public int anonymousRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/challenges");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
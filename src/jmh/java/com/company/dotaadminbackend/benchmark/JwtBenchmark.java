@@ -0,0 +1,80 @@
+package com.company.dotaadminbackend.benchmark;
+
+import com.company.dotaadminbackend.config.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtUtil 발급/검증 비용 (us/op)
+ * - decode 는 VerifiedTokenCache 적중 경로, getTokenInfo / validateToken 은 매번 서명 검증
+ * 실행: ./gradlew jmh -PjmhIncludes=JwtBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    // 토큰에 실리는 authority 개수 (Authorization 헤더 크기 → 파싱 비용)
+    @Param({"0", "10", "50"})
+    public int authorityCount;
+
+    private ConfigurableApplicationContext context;
+    private JwtUtil jwtUtil;
+    private List<String> authorities;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        context = AuthBenchmarkContext.start(Map.of());
+        jwtUtil = context.getBean(JwtUtil.class);
+        authorities = new ArrayList<>(authorityCount);
+        for (int i = 0; i < authorityCount; i++) {
+            authorities.add("BENCHMARK_AUTHORITY_" + i);
+        }
+        token = jwtUtil.generateToken("bench@example.com", "USER", authorities);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("bench@example.com", "USER", authorities);
+    }
+
+    @Benchmark
+    public JwtUtil.TokenInfo getTokenInfo() {
+        return jwtUtil.getTokenInfo(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public JwtUtil.DecodedToken decodeCached() {
+        return jwtUtil.decode(token);
+    }
+}
@@ -0,0 +1,86 @@
+package com.company.dotaadminbackend.benchmark;
+
+import com.company.dotaadminbackend.application.PresenceChange;
+import com.company.dotaadminbackend.application.SimplePresenceService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SimplePresenceService 연결/해제 비용 - 세션 10만 개가 이미 붙어 있는 상태에서 측정
+ * - churn: 임의 사용자에 세션 하나 붙였다 떼기 (저장된 세션 수와 무관해야 함)
+ * - massReconnect: 노드 재시작 직후처럼 전체 세션 해제 후 재연결 (이전 구현은 O(N²))
+ * 실행: ./gradlew jmh -PjmhIncludes=PresenceRegistryBenchmark
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class PresenceRegistryBenchmark {
+
+    @Param({"100000"})
+    public int sessions;
+
+    // 사용자당 평균 세션 수 (탭 여러 개)
+    @Param({"1", "3"})
+    public int sessionsPerUser;
+
+    private SimplePresenceService presence;
+    private String[] userIds;
+    private final AtomicLong churnSequence = new AtomicLong();
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        presence = new SimplePresenceService();
+        int users = Math.max(1, sessions / sessionsPerUser);
+        userIds = new String[users];
+        for (int u = 0; u < users; u++) {
+            userIds[u] = "user" + u + "@example.com";
+        }
+        connectAll();
+    }
+
+    private void connectAll() {
+        for (int s = 0; s < sessions; s++) {
+            presence.onConnect("session-" + s, userIds[s % userIds.length]);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Threads(4)
+    public PresenceChange churn() {
+        String userId = userIds[ThreadLocalRandom.current().nextInt(userIds.length)];
+        String sessionId = "churn-" + churnSequence.incrementAndGet();
+        presence.onConnect(sessionId, userId);
+        return presence.onDisconnect(sessionId);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    public int massReconnect() {
+        for (int s = 0; s < sessions; s++) {
+            presence.onDisconnect("session-" + s);
+        }
+        connectAll();
+        return presence.getOnlineCount();
+    }
+}
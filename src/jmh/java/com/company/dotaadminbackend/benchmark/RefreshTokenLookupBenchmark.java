@@ -0,0 +1,134 @@
+package com.company.dotaadminbackend.benchmark;
+
+import com.company.dotaadminbackend.application.RefreshTokenService;
+import com.company.dotaadminbackend.infrastructure.entity.RefreshTokenEntity;
+import com.company.dotaadminbackend.infrastructure.entity.UserEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RefreshTokenService.findValid 조회 비용 - 저장된 토큰 수(1k/10k/100k)에 따른 변화
+ * - 새 형식 토큰은 selector unique index 단건 조회라 저장 건수와 무관해야 한다
+ * - 채우기용 행은 JDBC batch 로 직접 넣고, 측정용 토큰만 서비스(create)로 발급
+ * 실행: ./gradlew jmh -PjmhIncludes=RefreshTokenLookupBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RefreshTokenLookupBenchmark {
+
+    private static final int INSERT_BATCH = 1000;
+
+    @Param({"1000", "10000", "100000"})
+    public int storedTokens;
+
+    private ConfigurableApplicationContext context;
+    private RefreshTokenService refreshTokenService;
+    private String validToken;
+    private String wrongVerifierToken;
+    private String unknownSelectorToken;
+
+    @Setup
+    public void setUp() {
+        context = AuthBenchmarkContext.start(Map.of());
+        refreshTokenService = context.getBean(RefreshTokenService.class);
+        JdbcTemplate jdbc = new JdbcTemplate(context.getBean(DataSource.class));
+
+        jdbc.update("INSERT INTO roles (name, description) VALUES ('USER', 'benchmark')");
+        Long roleId = jdbc.queryForObject("SELECT id FROM roles WHERE name = 'USER'", Long.class);
+        jdbc.update("INSERT INTO users (username, password, email, role_id, kakao_notification_consent) " +
+                "VALUES ('bench', 'x', 'bench@example.com', ?, false)", roleId);
+        Long userId = jdbc.queryForObject("SELECT id FROM users WHERE username = 'bench'", Long.class);
+
+        seed(jdbc, userId, storedTokens - 1);
+
+        UserEntity user;
+        EntityManager em = context.getBean(EntityManagerFactory.class).createEntityManager();
+        try {
+            user = em.find(UserEntity.class, userId);
+        } finally {
+            em.close();
+        }
+        RefreshTokenService.GeneratedToken generated = refreshTokenService.create(user, "127.0.0.1", "jmh");
+        validToken = generated.raw;
+        String selector = validToken.substring(0, validToken.indexOf('.'));
+        wrongVerifierToken = selector + ".not-the-right-verifier";
+        unknownSelectorToken = "unknownSelector0.whatever";
+    }
+
+    // 만료/revoke 가 섞인 채우기용 행 (verifier_hash 는 임의 값)
+    private static void seed(JdbcTemplate jdbc, Long userId, int count) {
+        Instant now = Instant.now();
+        String sql = "INSERT INTO refresh_tokens (user_id, token_hash, verifier_hash, expires_at, revoked, ip, user_agent, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < count; i++) {
+            Instant expiresAt = i % 4 == 0 ? now.minus(1, ChronoUnit.DAYS) : now.plus(14, ChronoUnit.DAYS);
+            batch.add(new Object[]{
+                    userId,
+                    UUID.randomUUID().toString().substring(0, 16),
+                    UUID.randomUUID().toString().replace("-", ""),
+                    Timestamp.from(expiresAt),
+                    i % 10 == 0,
+                    "127.0.0.1",
+                    "jmh",
+                    Timestamp.from(now)
+            });
+            if (batch.size() == INSERT_BATCH) {
+                jdbc.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbc.batchUpdate(sql, batch);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<RefreshTokenEntity> findValid() {
+        return refreshTokenService.findValid(validToken);
+    }
+
+    @Benchmark
+    public Optional<RefreshTokenEntity> findValidWrongVerifier() {
+        return refreshTokenService.findValid(wrongVerifierToken);
+    }
+
+    @Benchmark
+    public Optional<RefreshTokenEntity> findValidUnknownSelector() {
+        return refreshTokenService.findValid(unknownSelectorToken);
+    }
+}
@@ -0,0 +1,93 @@
+package com.company.dotaadminbackend.benchmark;
+
+import com.company.dotaadminbackend.application.ChallengeRoomPresence;
+import com.company.dotaadminbackend.application.SessionActivityTracker;
+import com.company.dotaadminbackend.application.SimplePresenceService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SessionActivityTracker 비용 - 세션 10만 개를 추적하는 상태에서 측정
+ * - touch: 프레임마다 호출되는 활동 기록 (추적 세션 수와 무관해야 함)
+ * - sweepActive: TTL 한 바퀴 동안 모든 세션이 활동 중이라 전부 재등록되는 경우의 tick 처리 총비용
+ * - sweepIdle: 모든 세션이 유휴라 한 번에 만료되는 경우 (PresenceStore 해제 비용 포함)
+ * 실행: ./gradlew jmh -PjmhIncludes=SessionExpiryBenchmark
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class SessionExpiryBenchmark {
+
+    private static final long TTL_MS = 60_000;
+    private static final long TICK_MS = 1_000;
+
+    @Param({"100000"})
+    public int sessions;
+
+    private SessionActivityTracker tracker;
+    private String[] sessionIds;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        // tick 스레드는 띄우지 않고 expireIdle 을 직접 호출
+        SimplePresenceService presence = new SimplePresenceService();
+        ChallengeRoomPresence rooms = new ChallengeRoomPresence(new SimpMessagingTemplate((message, timeout) -> true), 250, 100);
+        tracker = new SessionActivityTracker(presence, rooms, true, TTL_MS, TICK_MS);
+        sessionIds = new String[sessions];
+        for (int s = 0; s < sessions; s++) {
+            sessionIds[s] = "session-" + s;
+            presence.onConnect(sessionIds[s], "user" + s + "@example.com");
+            tracker.track(sessionIds[s], "user" + s + "@example.com");
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Threads(4)
+    public void touch() {
+        tracker.touch(sessionIds[ThreadLocalRandom.current().nextInt(sessionIds.length)]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    public int sweepActive() {
+        for (String sessionId : sessionIds) {
+            tracker.touch(sessionId);
+        }
+        long now = System.currentTimeMillis();
+        int expired = 0;
+        for (long t = now; t <= now + TTL_MS; t += TICK_MS) {
+            expired += tracker.expireIdle(t);
+        }
+        return expired;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    public int sweepIdle() {
+        return tracker.expireIdle(System.currentTimeMillis() + TTL_MS + TICK_MS);
+    }
+}
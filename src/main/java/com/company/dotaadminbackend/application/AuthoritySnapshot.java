@@ -0,0 +1,101 @@
+package com.company.dotaadminbackend.application;
+
+import com.company.dotaadminbackend.infrastructure.entity.AuthorityEntity;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Role / Authority / 사용자별 추가 권한의 불변 스냅샷
+ * - authority 는 id 오름차순으로 ordinal(0..n-1) 을 부여받고, 권한 집합은 ordinal 기반 BitSet 으로 표현
+ * - 사용자 유효 권한 = 역할 비트 OR 사용자 추가 권한 비트
+ * - 생성 후 변경하지 않음 (재빌드 시 새 인스턴스로 통째로 교체)
+ */
+public final class AuthoritySnapshot {
+
+    private static final BitSet EMPTY = new BitSet();
+
+    private final long version;
+    private final List<AuthorityEntity> authorities;   // ordinal 순서
+    private final Map<String, Integer> ordinalByName;
+    private final Map<Long, Integer> ordinalById;
+    private final Map<Long, BitSet> roleBits;           // roleId -> bits
+    private final Map<Long, BitSet> userBits;           // userId -> 추가 권한 bits
+
+    AuthoritySnapshot(long version, List<AuthorityEntity> authorities,
+                      Map<Long, BitSet> roleBits, Map<Long, BitSet> userBits) {
+        this.version = version;
+        this.authorities = Collections.unmodifiableList(new ArrayList<>(authorities));
+        Map<String, Integer> byName = new HashMap<>();
+        Map<Long, Integer> byId = new HashMap<>();
+        for (int i = 0; i < authorities.size(); i++) {
+            byName.put(authorities.get(i).getName(), i);
+            byId.put(authorities.get(i).getId(), i);
+        }
+        this.ordinalByName = Collections.unmodifiableMap(byName);
+        this.ordinalById = Collections.unmodifiableMap(byId);
+        this.roleBits = Collections.unmodifiableMap(new HashMap<>(roleBits));
+        this.userBits = Collections.unmodifiableMap(new HashMap<>(userBits));
+    }
+
+    static AuthoritySnapshot empty() {
+        return new AuthoritySnapshot(0L, List.of(), Map.of(), Map.of());
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return authorities.size();
+    }
+
+    public Integer ordinalOf(Long authorityId) {
+        return ordinalById.get(authorityId);
+    }
+
+    public Integer ordinalOf(String authorityName) {
+        return ordinalByName.get(authorityName);
+    }
+
+    public AuthorityEntity authorityAt(int ordinal) {
+        return authorities.get(ordinal);
+    }
+
+    /**
+     * 사용자의 유효 권한 비트셋 (반환값은 호출자 소유의 복사본)
+     */
+    public BitSet effectiveBits(Long userId, Long roleId) {
+        BitSet bits = (BitSet) roleBits.getOrDefault(roleId, EMPTY).clone();
+        BitSet extra = userBits.get(userId);
+        if (extra != null) {
+            bits.or(extra);
+        }
+        return bits;
+    }
+
+    public boolean hasAuthority(Long userId, Long roleId, String authorityName) {
+        Integer ordinal = ordinalByName.get(authorityName);
+        if (ordinal == null) {
+            return false;
+        }
+        BitSet role = roleBits.get(roleId);
+        if (role != null && role.get(ordinal)) {
+            return true;
+        }
+        BitSet extra = userBits.get(userId);
+        return extra != null && extra.get(ordinal);
+    }
+
+    public List<AuthorityEntity> authoritiesOf(BitSet bits) {
+        List<AuthorityEntity> result = new ArrayList<>(bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            result.add(authorities.get(i));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,104 @@
+package com.company.dotaadminbackend.application;
+
+import com.company.dotaadminbackend.application.event.AuthorityMappingChangedEvent;
+import com.company.dotaadminbackend.infrastructure.adapter.AuthorityRepository;
+import com.company.dotaadminbackend.infrastructure.adapter.RoleAuthorityRepository;
+import com.company.dotaadminbackend.infrastructure.adapter.UserAuthorityRepository;
+import com.company.dotaadminbackend.infrastructure.entity.AuthorityEntity;
+import com.company.dotaadminbackend.infrastructure.entity.RoleAuthorityEntity;
+import com.company.dotaadminbackend.infrastructure.entity.UserAuthorityEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 권한 스냅샷 관리
+ * - 로그인/refresh/hasAuthority 마다 돌던 다중 LEFT JOIN 대신 메모리 스냅샷 조회
+ * - 재빌드는 전체를 새로 만든 뒤 volatile 참조 1회 교체 (읽는 쪽은 항상 일관된 스냅샷을 봄)
+ * - 재빌드 시점: 기동 완료, RoleService 등의 AuthorityMappingChangedEvent 커밋 후, 주기적 안전망
+ */
+@Service
+public class AuthoritySnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthoritySnapshotService.class);
+
+    private final AuthorityRepository authorityRepository;
+    private final RoleAuthorityRepository roleAuthorityRepository;
+    private final UserAuthorityRepository userAuthorityRepository;
+
+    private volatile AuthoritySnapshot snapshot;
+    private long nextVersion = 1L;
+
+    public AuthoritySnapshotService(AuthorityRepository authorityRepository,
+                                    RoleAuthorityRepository roleAuthorityRepository,
+                                    UserAuthorityRepository userAuthorityRepository) {
+        this.authorityRepository = authorityRepository;
+        this.roleAuthorityRepository = roleAuthorityRepository;
+        this.userAuthorityRepository = userAuthorityRepository;
+    }
+
+    public AuthoritySnapshot current() {
+        AuthoritySnapshot s = snapshot;
+        return s != null ? s : rebuild();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMappingChanged(AuthorityMappingChangedEvent event) {
+        log.debug("[AuthoritySnapshot] Rebuild requested: {}", event.getReason());
+        rebuild();
+    }
+
+    // DB 를 직접 수정한 경우 등 이벤트 밖의 변경을 위한 안전망
+    @Scheduled(initialDelayString = "${app.authority.snapshot.refresh-interval-ms:300000}",
+               fixedDelayString = "${app.authority.snapshot.refresh-interval-ms:300000}")
+    public void periodicRefresh() {
+        rebuild();
+    }
+
+    public synchronized AuthoritySnapshot rebuild() {
+        long started = System.currentTimeMillis();
+        List<AuthorityEntity> authorities = authorityRepository.findAll(Sort.by("id"));
+        Map<Long, Integer> ordinals = new HashMap<>();
+        for (int i = 0; i < authorities.size(); i++) {
+            ordinals.put(authorities.get(i).getId(), i);
+        }
+
+        Map<Long, BitSet> roleBits = new HashMap<>();
+        for (RoleAuthorityEntity ra : roleAuthorityRepository.findAll()) {
+            Integer ordinal = ordinals.get(ra.getAuthorityId());
+            if (ordinal != null) {
+                roleBits.computeIfAbsent(ra.getRoleId(), k -> new BitSet(authorities.size())).set(ordinal);
+            }
+        }
+
+        Map<Long, BitSet> userBits = new HashMap<>();
+        for (UserAuthorityEntity ua : userAuthorityRepository.findAll()) {
+            Integer ordinal = ordinals.get(ua.getAuthorityId());
+            if (ordinal != null) {
+                userBits.computeIfAbsent(ua.getUserId(), k -> new BitSet(authorities.size())).set(ordinal);
+            }
+        }
+
+        AuthoritySnapshot rebuilt = new AuthoritySnapshot(nextVersion++, authorities, roleBits, userBits);
+        this.snapshot = rebuilt;
+        log.debug("[AuthoritySnapshot] Rebuilt version={} authorities={} roles={} userOverrides={} in {} ms",
+                rebuilt.getVersion(), authorities.size(), roleBits.size(), userBits.size(),
+                System.currentTimeMillis() - started);
+        return rebuilt;
+    }
+}
@@ -0,0 +1,16 @@
+package com.company.dotaadminbackend.application;
+
+import com.company.dotaadminbackend.domain.challenge.ChallengeStatus;
+
+import java.time.LocalDate;
+
+/**
+ * 챌린지 목록 조회 조건 (null 인 항목은 조건 없음, 지정한 항목은 모두 AND)
+ * @param status      상태
+ * @param authorId    작성자 id
+ * @param createdFrom 생성일 시작 (포함)
+ * @param createdTo   생성일 끝 (포함)
+ * @param tag         태그 (정확히 일치)
+ */
+public record ChallengeFilter(ChallengeStatus status, Long authorId, LocalDate createdFrom, LocalDate createdTo, String tag) {
+}
@@ -0,0 +1,13 @@
+package com.company.dotaadminbackend.application;
+
+import com.company.dotaadminbackend.infrastructure.dto.ChallengeResponse;
+
+import java.util.List;
+
+/**
+ * 챌린지 목록의 한 페이지 (생성 시각 최신순)
+ * @param challenges 이 페이지의 챌린지 (limit 이하)
+ * @param nextCursor 다음 페이지 조회용 불투명 커서, 마지막 페이지면 null
+ */
+public record ChallengePage(List<ChallengeResponse> challenges, String nextCursor) {
+}
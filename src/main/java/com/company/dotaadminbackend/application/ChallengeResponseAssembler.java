@@ -0,0 +1,145 @@
+package com.company.dotaadminbackend.application;
+
+import com.company.dotaadminbackend.infrastructure.adapter.ChallengeParticipantRepository;
+import com.company.dotaadminbackend.infrastructure.adapter.SpringDataUserRepository;
+import com.company.dotaadminbackend.infrastructure.dto.ChallengeResponse;
+import com.company.dotaadminbackend.infrastructure.dto.ParticipantResponse;
+import com.company.dotaadminbackend.infrastructure.entity.ChallengeEntity;
+import com.company.dotaadminbackend.infrastructure.repository.ChallengeRewardRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 챌린지 목록 → ChallengeResponse 일괄 조립
+ * - 참가자 id 는 challenge_participants 를 챌린지 id IN 으로 1회 조회 (챌린지 1000개 단위)
+ * - 목록 전체의 작성자/참가자 id 를 모아 사용자 요약을 IN 조회 (id 1000개 단위), 포상 참가자 수는 GROUP BY 1회
+ * - 이후 응답은 메모리 맵에서만 채움 → 챌린지/참가자 수와 무관하게 쿼리 수 고정
+ * - 지연 로딩 컬렉션(tags)을 읽으므로 트랜잭션 안에서 호출해야 한다
+ * - 목록 페이지는 챌린지당 참가자 수를 제한해 응답 크기를 고정 (participantCount 는 전체 수)
+ */
+@Component
+public class ChallengeResponseAssembler {
+
+    private static final int IN_CHUNK_SIZE = 1000;
+
+    private final SpringDataUserRepository userRepository;
+    private final ChallengeRewardRepository challengeRewardRepository;
+    private final ChallengeParticipantRepository challengeParticipantRepository;
+
+    public ChallengeResponseAssembler(SpringDataUserRepository userRepository,
+            ChallengeRewardRepository challengeRewardRepository,
+            ChallengeParticipantRepository challengeParticipantRepository) {
+        this.userRepository = userRepository;
+        this.challengeRewardRepository = challengeRewardRepository;
+        this.challengeParticipantRepository = challengeParticipantRepository;
+    }
+
+    public ChallengeResponse assemble(ChallengeEntity challenge) {
+        return assemble(List.of(challenge)).get(0);
+    }
+
+    public List<ChallengeResponse> assemble(List<ChallengeEntity> challenges) {
+        return assemble(challenges, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxParticipants 챌린지당 participantIds/participants 에 담을 최대 인원 (앞에서부터)
+     */
+    public List<ChallengeResponse> assemble(List<ChallengeEntity> challenges, int maxParticipants) {
+        if (challenges.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> challengeIds = new ArrayList<>(challenges.size());
+        for (ChallengeEntity challenge : challenges) {
+            challengeIds.add(challenge.getId());
+        }
+        Map<Long, List<Long>> participantsByChallenge = loadParticipantIds(challengeIds);
+
+        Set<Long> userIds = new LinkedHashSet<>();
+        for (ChallengeEntity challenge : challenges) {
+            userIds.add(challenge.getAuthorId());
+            userIds.addAll(limit(participantsByChallenge.get(challenge.getId()), maxParticipants));
+        }
+
+        Map<Long, ParticipantResponse> users = loadUsers(userIds);
+        Map<Long, Long> rewardedCounts = loadRewardedCounts(challengeIds);
+
+        List<ChallengeResponse> responses = new ArrayList<>(challenges.size());
+        for (ChallengeEntity challenge : challenges) {
+            ChallengeResponse response = ChallengeResponse.from(challenge);
+            response.setTags(challenge.getTags() != null ? new ArrayList<>(challenge.getTags()) : null);
+            List<Long> allParticipantIds = participantsByChallenge.getOrDefault(challenge.getId(), List.of());
+            List<Long> participantIds = limit(allParticipantIds, maxParticipants);
+            response.setParticipantIds(participantIds);
+            response.setParticipantCount(allParticipantIds.size());
+
+            ParticipantResponse author = users.get(challenge.getAuthorId());
+            if (author != null) {
+                response.setUsername(author.getName());
+                response.setEmail(author.getEmail());
+            }
+
+            // 탈퇴 등으로 없는 사용자는 목록에서 제외 (기존 동작과 동일)
+            List<ParticipantResponse> participants = new ArrayList<>(participantIds.size());
+            for (Long participantId : participantIds) {
+                ParticipantResponse participant = users.get(participantId);
+                if (participant != null) {
+                    participants.add(participant);
+                }
+            }
+            response.setParticipants(participants);
+            response.setRewardedParticipantCount(rewardedCounts.getOrDefault(challenge.getId(), 0L));
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    private static List<Long> limit(List<Long> ids, int maxParticipants) {
+        if (ids == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(ids.size() > maxParticipants ? ids.subList(0, maxParticipants) : ids);
+    }
+
+    private Map<Long, List<Long>> loadParticipantIds(List<Long> challengeIds) {
+        Map<Long, List<Long>> participants = new HashMap<>(challengeIds.size() * 2);
+        for (int from = 0; from < challengeIds.size(); from += IN_CHUNK_SIZE) {
+            List<Long> chunk = challengeIds.subList(from, Math.min(challengeIds.size(), from + IN_CHUNK_SIZE));
+            for (Object[] row : challengeParticipantRepository.findParticipantIdsByChallengeIds(chunk)) {
+                participants.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]);
+            }
+        }
+        return participants;
+    }
+
+    private Map<Long, ParticipantResponse> loadUsers(Set<Long> userIds) {
+        Map<Long, ParticipantResponse> users = new HashMap<>(userIds.size() * 2);
+        List<Long> ids = new ArrayList<>(userIds);
+        for (int from = 0; from < ids.size(); from += IN_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + IN_CHUNK_SIZE));
+            for (Object[] row : userRepository.findSummariesByIdIn(chunk)) {
+                Long id = (Long) row[0];
+                users.put(id, new ParticipantResponse(id, (String) row[1], (String) row[2], null));
+            }
+        }
+        return users;
+    }
+
+    private Map<Long, Long> loadRewardedCounts(List<Long> challengeIds) {
+        Map<Long, Long> counts = new HashMap<>(challengeIds.size() * 2);
+        for (int from = 0; from < challengeIds.size(); from += IN_CHUNK_SIZE) {
+            List<Long> chunk = challengeIds.subList(from, Math.min(challengeIds.size(), from + IN_CHUNK_SIZE));
+            for (Object[] row : challengeRewardRepository.getRewardedParticipantCountsByChallengeIds(chunk)) {
+                counts.put((Long) row[0], (Long) row[1]);
+            }
+        }
+        return counts;
+    }
+}
@@ -7,6 +7,7 @@ import com.company.dotaadminbackend.infrastructure.entity.ChallengeEntity;
 import com.company.dotaadminbackend.infrastructure.repository.ChallengeRewardRepository;
 import com.company.dotaadminbackend.infrastructure.adapter.SpringDataUserRepository;
 import com.company.dotaadminbackend.infrastructure.adapter.ChallengeRepository;
+import com.company.dotaadminbackend.infrastructure.adapter.ChallengeParticipantRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,13 +21,16 @@ public class ChallengeRewardService {
     private final ChallengeRewardRepository challengeRewardRepository;
     private final SpringDataUserRepository userRepository;
     private final ChallengeRepository challengeRepository;
+    private final ChallengeParticipantRepository challengeParticipantRepository;
     
     public ChallengeRewardService(ChallengeRewardRepository challengeRewardRepository, 
                         SpringDataUserRepository userRepository,
-                        ChallengeRepository challengeRepository) {
+                        ChallengeRepository challengeRepository,
+                        ChallengeParticipantRepository challengeParticipantRepository) {
         this.challengeRewardRepository = challengeRewardRepository;
         this.userRepository = userRepository;
         this.challengeRepository = challengeRepository;
+        this.challengeParticipantRepository = challengeParticipantRepository;
     }
     
     // 포상 지급
@@ -40,7 +44,7 @@ public class ChallengeRewardService {
             .orElseThrow(() -> new IllegalArgumentException("참가자를 찾을 수 없습니다: " + request.getParticipantId()));
         
         // 참가자가 해당 챌린지에 참여했는지 확인
-        if (!challenge.getParticipantIds().contains(request.getParticipantId())) {
+        if (!challengeParticipantRepository.existsByChallengeIdAndParticipantId(challengeId, request.getParticipantId())) {
             throw new IllegalArgumentException("해당 참가자는 이 챌린지에 참여하지 않았습니다.");
         }
         
@@ -0,0 +1,298 @@
+package com.company.dotaadminbackend.application;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 챌린지별 "지금 보고 있는 사용자" (room presence)
+ * - 클라이언트가 /topic/challenges/{id}/presence 를 구독하면 입장, 구독 해제 또는 연결 해제 시 퇴장
+ *   (STOMP 세션 연결/해제 흐름은 PresenceStore 와 동일하게 WebSocketEventListener 에서 전달)
+ * - 방 목록은 challengeId 해시로 나눈 여러 ConcurrentHashMap(shard)에 보관, 방 안의 변경은 해당 방 항목의 compute 안에서 처리
+ * - 마지막 시청자가 나가면 방 항목을 제거 → 메모리는 시청자가 있는 방 수에 비례
+ * - 연결 해제된 세션은 잠시(CLOSED_SESSION_RETENTION_MS) 기억해, 해제 뒤에 다른 스레드에서 처리된 SUBSCRIBE 가
+ *   세션/시청자를 되살리지 않도록 한다
+ * - 유휴 만료된 세션(SessionActivityTracker)은 구독을 유지한 채 시청자에서만 빠지고(suspend), 활동이 다시 오면 복귀(resume)
+ * - 세션 단위 입장/퇴장/연결 해제/만료는 세션 항목 lock 으로 직렬화 (lock 순서: 세션 → 방 shard)
+ * - 변경된 방만 window 마다 1회, 그 방의 topic 으로만 전체 시청자 목록을 전송
+ *   {type: ROOM_PRESENCE, challengeId, count, viewers: [...](최대 max-listed 명), timestamp}
+ *   목록 전체를 보내므로 순서/누락 보정이 필요 없고, 새 구독자도 다음 window 에 현재 목록을 받는다
+ */
+@Component
+@Slf4j
+public class ChallengeRoomPresence {
+
+    private static final Pattern ROOM_TOPIC = Pattern.compile("^/topic/challenges/(\\d+)/presence$");
+    private static final int SHARDS = 16;
+    private static final long CLOSED_SESSION_RETENTION_MS = 60_000;
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final long windowMs;
+    private final int maxListed;
+
+    @SuppressWarnings("unchecked")
+    private final Map<Long, Room>[] shards = new Map[SHARDS];
+    // sessionId -> 세션의 room 구독 : 연결 해제/유휴 만료 시 세션이 들어간 방만 정리
+    private final Map<String, SessionRooms> sessionRooms = new ConcurrentHashMap<>();
+    // 연결 해제된 sessionId -> 해제 시각 (flush 마다 오래된 항목 정리)
+    private final Map<String, Long> closedSessions = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyRooms = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService flusher;
+
+    public ChallengeRoomPresence(SimpMessagingTemplate messagingTemplate,
+            @Value("${app.presence.rooms.window-ms:250}") long windowMs,
+            @Value("${app.presence.rooms.max-listed:100}") int maxListed) {
+        this.messagingTemplate = messagingTemplate;
+        this.windowMs = Math.max(10, windowMs);
+        this.maxListed = maxListed;
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        this.flusher = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("room-presence-flush-"));
+        flusher.scheduleWithFixedDelay(this::flushSafely, windowMs, windowMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        flusher.shutdown();
+    }
+
+    public static String topicOf(long challengeId) {
+        return "/topic/challenges/" + challengeId + "/presence";
+    }
+
+    /**
+     * @return room topic 이면 challengeId, 아니면 null
+     */
+    public static Long roomOf(String destination) {
+        if (destination == null) {
+            return null;
+        }
+        Matcher matcher = ROOM_TOPIC.matcher(destination);
+        return matcher.matches() ? Long.valueOf(matcher.group(1)) : null;
+    }
+
+    /**
+     * 방 입장 (같은 사용자가 여러 탭/세션으로 들어오면 시청자는 1명, 마지막 세션이 나갈 때 퇴장)
+     */
+    public void join(String sessionId, String subscriptionId, String userId, long challengeId) {
+        if (closedSessions.containsKey(sessionId)) {
+            return; // 연결 해제 뒤에 도착한 SUBSCRIBE
+        }
+        SessionRooms session = sessionRooms.computeIfAbsent(sessionId, k -> new SessionRooms());
+        RoomSubscription subscription = new RoomSubscription(challengeId, userId);
+        synchronized (session) {
+            if (session.closed) {
+                return;
+            }
+            RoomSubscription previous = session.subscriptions.put(subscriptionId, subscription);
+            if (!session.suspended) { // 유휴 만료 상태면 resume 때 입장
+                if (previous != null) {
+                    release(previous); // 같은 subscriptionId 재사용
+                }
+                acquire(subscription);
+            }
+        }
+        // 위 확인 이후 연결 해제가 끝나 세션 항목을 새로 만든 경우 - onDisconnect 는 먼저 기록하고 정리하므로 여기서 보인다
+        if (closedSessions.containsKey(sessionId)) {
+            onDisconnect(sessionId);
+        }
+    }
+
+    /**
+     * 구독 해제 (room topic 구독이 아니었으면 무시)
+     */
+    public void leave(String sessionId, String subscriptionId) {
+        SessionRooms session = sessionRooms.get(sessionId);
+        if (session == null) {
+            return;
+        }
+        synchronized (session) {
+            RoomSubscription subscription = session.subscriptions.remove(subscriptionId);
+            if (subscription != null && !session.suspended) {
+                release(subscription);
+            }
+        }
+    }
+
+    /**
+     * 세션 연결 해제 - 세션이 들어가 있던 모든 방에서 퇴장
+     */
+    public void onDisconnect(String sessionId) {
+        closedSessions.put(sessionId, System.currentTimeMillis());
+        SessionRooms session = sessionRooms.remove(sessionId);
+        if (session == null) {
+            return;
+        }
+        synchronized (session) {
+            session.closed = true;
+            if (!session.suspended) {
+                session.subscriptions.values().forEach(this::release);
+            }
+            session.subscriptions.clear();
+        }
+    }
+
+    /**
+     * 유휴 만료 - 구독은 기억한 채 모든 방의 시청자에서 제외
+     */
+    public void suspend(String sessionId) {
+        SessionRooms session = sessionRooms.get(sessionId);
+        if (session == null) {
+            return;
+        }
+        synchronized (session) {
+            if (!session.suspended) {
+                session.suspended = true;
+                session.subscriptions.values().forEach(this::release);
+            }
+        }
+    }
+
+    /**
+     * 유휴 만료 후 활동 재개 - 구독 중인 방에 다시 입장
+     */
+    public void resume(String sessionId) {
+        SessionRooms session = sessionRooms.get(sessionId);
+        if (session == null) {
+            return;
+        }
+        synchronized (session) {
+            if (session.suspended) {
+                session.suspended = false;
+                session.subscriptions.values().forEach(this::acquire);
+            }
+        }
+    }
+
+    /**
+     * 방의 현재 시청자 (없으면 빈 목록)
+     */
+    public List<String> getViewers(long challengeId) {
+        List<String> viewers = new ArrayList<>();
+        shardOf(challengeId).computeIfPresent(challengeId, (id, room) -> {
+            viewers.addAll(room.viewers.keySet());
+            return room;
+        });
+        return viewers;
+    }
+
+    int getTrackedSessionCount() {
+        return sessionRooms.size();
+    }
+
+    public int getActiveRoomCount() {
+        int rooms = 0;
+        for (Map<Long, Room> shard : shards) {
+            rooms += shard.size();
+        }
+        return rooms;
+    }
+
+    private void acquire(RoomSubscription subscription) {
+        shardOf(subscription.challengeId()).compute(subscription.challengeId(), (id, room) -> {
+            if (room == null) {
+                room = new Room();
+            }
+            room.viewers.merge(subscription.userId(), 1, Integer::sum);
+            return room;
+        });
+        // 이미 시청 중인 사용자여도 새 구독자에게 현재 목록이 가도록 표시
+        dirtyRooms.add(subscription.challengeId());
+    }
+
+    private void release(RoomSubscription subscription) {
+        shardOf(subscription.challengeId()).computeIfPresent(subscription.challengeId(), (id, room) -> {
+            room.viewers.computeIfPresent(subscription.userId(), (user, count) -> count > 1 ? count - 1 : null);
+            return room.viewers.isEmpty() ? null : room;
+        });
+        dirtyRooms.add(subscription.challengeId());
+    }
+
+    private Map<Long, Room> shardOf(long challengeId) {
+        return shards[(Long.hashCode(challengeId) & Integer.MAX_VALUE) % SHARDS];
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("[ChallengeRoomPresence] flush failed: {}", e.getMessage(), e);
+        }
+    }
+
+    void flush() {
+        purgeClosedSessions(System.currentTimeMillis() - CLOSED_SESSION_RETENTION_MS);
+        if (dirtyRooms.isEmpty()) {
+            return;
+        }
+        List<Long> rooms = new ArrayList<>(dirtyRooms);
+        dirtyRooms.removeAll(rooms);
+        long timestamp = System.currentTimeMillis();
+        for (Long challengeId : rooms) {
+            int[] count = new int[1];
+            List<String> viewers = new ArrayList<>();
+            shardOf(challengeId).computeIfPresent(challengeId, (id, room) -> {
+                count[0] = room.viewers.size();
+                for (String userId : room.viewers.keySet()) {
+                    if (viewers.size() >= maxListed) {
+                        break;
+                    }
+                    viewers.add(userId);
+                }
+                return room;
+            });
+            messagingTemplate.convertAndSend(topicOf(challengeId), Map.of(
+                "type", "ROOM_PRESENCE",
+                "challengeId", challengeId,
+                "count", count[0],
+                "viewers", viewers,
+                "timestamp", timestamp
+            ));
+        }
+        log.debug("Broadcast room presence for {} rooms", rooms.size());
+    }
+
+    void purgeClosedSessions(long closedBefore) {
+        closedSessions.values().removeIf(closedAt -> closedAt < closedBefore);
+    }
+
+    /**
+     * 방 하나의 시청자 (userId -> 세션 수) - shard 의 compute 안에서만 변경
+     */
+    private static final class Room {
+        final Map<String, Integer> viewers = new HashMap<>(4);
+    }
+
+    /**
+     * 세션 하나의 room 구독 (subscriptionId -> 구독) - 이 객체의 lock 안에서만 변경
+     */
+    private static final class SessionRooms {
+        final Map<String, RoomSubscription> subscriptions = new HashMap<>(4);
+        boolean suspended;
+        boolean closed;
+    }
+
+    private record RoomSubscription(long challengeId, String userId) {}
+}
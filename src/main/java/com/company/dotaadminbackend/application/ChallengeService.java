@@ -1,34 +1,43 @@
 package com.company.dotaadminbackend.application;
 
 import com.company.dotaadminbackend.infrastructure.entity.ChallengeEntity;
-import com.company.dotaadminbackend.infrastructure.entity.UserEntity;
 import com.company.dotaadminbackend.domain.challenge.ChallengeStatus;
+import com.company.dotaadminbackend.infrastructure.adapter.ChallengeParticipantRepository;
 import com.company.dotaadminbackend.infrastructure.adapter.ChallengeRepository;
-import com.company.dotaadminbackend.infrastructure.adapter.SpringDataUserRepository;
-import com.company.dotaadminbackend.infrastructure.repository.ChallengeRewardRepository;
+import com.company.dotaadminbackend.infrastructure.adapter.ChallengeSpecifications;
 import com.company.dotaadminbackend.infrastructure.dto.CreateChallengeRequest;
 import com.company.dotaadminbackend.infrastructure.dto.UpdateChallengeRequest;
 import com.company.dotaadminbackend.infrastructure.dto.ChallengeResponse;
-import com.company.dotaadminbackend.infrastructure.dto.ParticipantResponse;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class ChallengeService {
     
+    // 목록 페이지에서 챌린지당 담는 최대 참가자 수 (응답 크기 상한)
+    public static final int PAGE_MAX_PARTICIPANTS = 50;
+    private static final Sort KEYSET_ORDER = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+    
     private final ChallengeRepository challengeRepository;
-    private final SpringDataUserRepository userRepository;
-    private final ChallengeRewardRepository challengeRewardRepository;
+    private final ChallengeParticipantRepository challengeParticipantRepository;
+    private final ChallengeResponseAssembler challengeResponseAssembler;
     
-    public ChallengeService(ChallengeRepository challengeRepository, SpringDataUserRepository userRepository, ChallengeRewardRepository challengeRewardRepository) {
+    public ChallengeService(ChallengeRepository challengeRepository, ChallengeParticipantRepository challengeParticipantRepository,
+                            ChallengeResponseAssembler challengeResponseAssembler) {
         this.challengeRepository = challengeRepository;
-        this.userRepository = userRepository;
-        this.challengeRewardRepository = challengeRewardRepository;
+        this.challengeParticipantRepository = challengeParticipantRepository;
+        this.challengeResponseAssembler = challengeResponseAssembler;
     }
     
     public ChallengeEntity createChallenge(CreateChallengeRequest request, Long authorId) {
@@ -76,67 +85,113 @@ public class ChallengeService {
     }
     
     // Participation Methods
+    // 참가/탈퇴는 challenge_participants 행 1개 insert/delete (참가자 목록을 읽거나 다시 쓰지 않음)
     public ChallengeEntity participateInChallenge(Long challengeId, Long userId) {
         ChallengeEntity challenge = challengeRepository.findById(challengeId)
                 .orElseThrow(() -> new IllegalArgumentException("Challenge not found"));
         
-        challenge.addParticipant(userId);
-        return challengeRepository.save(challenge);
+        challenge.verifyCanJoin(userId);
+        // 동시에 같은 사용자가 참가해도 PK 충돌로 1건만 들어감
+        int inserted;
+        try {
+            inserted = challengeParticipantRepository.insertIfAbsent(challengeId, userId, LocalDateTime.now());
+        } catch (DataIntegrityViolationException e) {
+            // ON CONFLICT 대신 중복 키 오류로 알리는 DB (동시 insert 경합) 도 같은 결과로 처리
+            inserted = 0;
+        }
+        if (inserted == 0) {
+            throw new IllegalStateException("이미 참여한 챌린지입니다.");
+        }
+        return challenge;
     }
     
     public ChallengeEntity leaveChallenge(Long challengeId, Long userId) {
         ChallengeEntity challenge = challengeRepository.findById(challengeId)
                 .orElseThrow(() -> new IllegalArgumentException("Challenge not found"));
         
-        challenge.removeParticipant(userId);
-        return challengeRepository.save(challenge);
+        challengeParticipantRepository.deleteParticipant(challengeId, userId);
+        return challenge;
     }
     
     @Transactional(readOnly = true)
     public boolean isParticipant(Long challengeId, Long userId) {
-        ChallengeEntity challenge = challengeRepository.findById(challengeId)
-                .orElseThrow(() -> new IllegalArgumentException("Challenge not found"));
-        
-        return challenge.isParticipant(userId);
+        if (!challengeRepository.existsById(challengeId)) {
+            throw new IllegalArgumentException("Challenge not found");
+        }
+        return challengeParticipantRepository.existsByChallengeIdAndParticipantId(challengeId, userId);
+    }
+    
+    @Transactional(readOnly = true)
+    public long getParticipantCount(Long challengeId) {
+        return challengeParticipantRepository.countByChallengeId(challengeId);
     }
     
     // Helper method to convert ChallengeEntity to ChallengeResponse with participant details
     @Transactional(readOnly = true)
     public ChallengeResponse toChallengeResponse(ChallengeEntity challenge) {
-        ChallengeResponse response = ChallengeResponse.from(challenge);
-        
-        // Fetch author name and email
-        Optional<UserEntity> author = userRepository.findById(challenge.getAuthorId());
-        if (author.isPresent()) {
-            UserEntity authorUser = author.get();
-            response.setUsername(authorUser.getUsername());
-            response.setEmail(authorUser.getEmail());
-        }
-        
-        // Fetch participant details
-        List<ParticipantResponse> participants = challenge.getParticipantIds().stream()
-                .map(participantId -> {
-                    Optional<UserEntity> user = userRepository.findById(participantId);
-                    return user.map(ParticipantResponse::from).orElse(null);
-                })
-                .filter(participant -> participant != null)
-                .collect(Collectors.toList());
-        
-        response.setParticipants(participants);
-        
-        // Fetch rewarded participant count
-        Long rewardedCount = challengeRewardRepository.getRewardedParticipantCountByChallengeId(challenge.getId());
-        response.setRewardedParticipantCount(rewardedCount);
-        
-        return response;
+        return challengeResponseAssembler.assemble(challenge);
     }
     
+    /**
+     * 챌린지 목록 한 페이지 (생성 시각 최신순, (created_at, id) keyset)
+     * - 첫 요청은 cursor 없이, 이후 응답의 nextCursor 를 그대로 전달 (null 이면 마지막 페이지)
+     * - 조건은 지정한 것만 AND 로 적용, 응답은 ChallengeResponseAssembler 로 일괄 조립
+     * - 챌린지당 참가자 목록은 PAGE_MAX_PARTICIPANTS 명까지만 (전체 수는 participantCount)
+     */
     @Transactional(readOnly = true)
-    public List<ChallengeResponse> getAllChallengesWithParticipants() {
-        List<ChallengeEntity> challenges = challengeRepository.findAllByOrderByCreatedAtDesc();
-        return challenges.stream()
-                .map(this::toChallengeResponse)
-                .collect(Collectors.toList());
+    public ChallengePage searchChallenges(ChallengeFilter filter, String cursor, int limit) {
+        List<Specification<ChallengeEntity>> conditions = new ArrayList<>();
+        if (filter.status() != null) {
+            conditions.add(ChallengeSpecifications.hasStatus(filter.status()));
+        }
+        if (filter.authorId() != null) {
+            conditions.add(ChallengeSpecifications.hasAuthor(filter.authorId()));
+        }
+        if (filter.createdFrom() != null) {
+            conditions.add(ChallengeSpecifications.createdAtOrAfter(filter.createdFrom().atStartOfDay()));
+        }
+        if (filter.createdTo() != null) {
+            conditions.add(ChallengeSpecifications.createdBefore(filter.createdTo().plusDays(1).atStartOfDay()));
+        }
+        if (filter.tag() != null && !filter.tag().isBlank()) {
+            conditions.add(ChallengeSpecifications.hasTag(filter.tag()));
+        }
+        if (cursor != null && !cursor.isEmpty()) {
+            Keyset after = Keyset.decode(cursor);
+            conditions.add(ChallengeSpecifications.olderThan(after.createdAt(), after.id()));
+        }
+
+        // limit + 1 개를 읽어 다음 페이지 존재 여부 판단 (count 쿼리 없음)
+        List<ChallengeEntity> rows = challengeRepository.findBy(Specification.allOf(conditions),
+                query -> query.sortBy(KEYSET_ORDER).limit(limit + 1).all());
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            ChallengeEntity last = rows.get(limit - 1);
+            nextCursor = new Keyset(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new ChallengePage(challengeResponseAssembler.assemble(rows, PAGE_MAX_PARTICIPANTS), nextCursor);
+    }
+
+    /**
+     * 목록 커서 - 마지막 행의 (createdAt, id) 를 base64url 로 감싼 값
+     */
+    private record Keyset(LocalDateTime createdAt, Long id) {
+
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Keyset decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new Keyset(LocalDateTime.parse(raw.substring(0, separator)), Long.valueOf(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid challenge cursor: " + cursor);
+            }
+        }
     }
     
     // 상태 변경 메서드들
@@ -220,6 +275,8 @@ public class ChallengeService {
 
         // With DB-level ON DELETE CASCADE on challenge_rewards.challenge_id foreign key
         // simply deleting the challenge will remove rewards automatically.
+        // 참가 행은 엔티티 연관이 없으므로 직접 삭제
+        challengeParticipantRepository.deleteByChallenge(challengeId);
         challengeRepository.delete(challenge);
     }
 }
\ No newline at end of file
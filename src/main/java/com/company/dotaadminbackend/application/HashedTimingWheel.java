@@ -0,0 +1,77 @@
+package com.company.dotaadminbackend.application;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 해시 타이밍 휠 - 많은 수의 만료 시각을 작업(스레드/Future) 없이 O(1) 로 등록
+ * - 마감 시각을 tick 단위로 내림해 (tick % 휠 크기) 버킷에 넣는다
+ * - advance(now) 는 지나간 tick 의 버킷만 훑어 마감이 된 항목을 돌려준다
+ *   (휠 한 바퀴보다 먼 마감은 버킷에 남아 다음 바퀴에 다시 검사)
+ * - 취소 연산은 없다: 호출자가 돌려받은 항목의 실제 상태를 보고 만료/재등록을 결정 (lazy cancel)
+ */
+public class HashedTimingWheel<T> {
+
+    private final long tickMs;
+    private final int mask;
+    private final List<Slot<T>>[] buckets;
+    private long lastTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickMs, long horizonMs, long startMs) {
+        this.tickMs = Math.max(1, tickMs);
+        int wheelSize = Integer.highestOneBit((int) Math.min(1 << 20, Math.max(16, horizonMs / this.tickMs)) * 2 - 1);
+        this.mask = wheelSize - 1;
+        this.buckets = new List[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        this.lastTick = startMs / this.tickMs;
+    }
+
+    public synchronized void schedule(T item, long deadlineMs) {
+        // 이미 지난 마감은 다음 tick 에 처리
+        long tick = Math.max(deadlineMs / tickMs, lastTick + 1);
+        buckets[(int) (tick & mask)].add(new Slot<>(item, tick));
+        size++;
+    }
+
+    /**
+     * @return 마감 tick 이 now 이하인 항목 (등록 순서 보장 없음)
+     */
+    public synchronized List<T> advance(long nowMs) {
+        long nowTick = nowMs / tickMs;
+        if (nowTick <= lastTick) {
+            return List.of();
+        }
+        List<T> due = new ArrayList<>();
+        // 한 바퀴 이상 밀렸으면 모든 버킷을 한 번씩만 훑으면 충분
+        long from = Math.max(lastTick + 1, nowTick - mask);
+        for (long tick = from; tick <= nowTick; tick++) {
+            List<Slot<T>> bucket = buckets[(int) (tick & mask)];
+            if (bucket.isEmpty()) {
+                continue;
+            }
+            int kept = 0;
+            for (int i = 0; i < bucket.size(); i++) {
+                Slot<T> slot = bucket.get(i);
+                if (slot.tick <= nowTick) {
+                    due.add(slot.item);
+                } else {
+                    bucket.set(kept++, slot);
+                }
+            }
+            bucket.subList(kept, bucket.size()).clear();
+        }
+        size -= due.size();
+        lastTick = nowTick;
+        return due;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private record Slot<T>(T item, long tick) {}
+}
@@ -0,0 +1,13 @@
+package com.company.dotaadminbackend.application;
+
+/**
+ * 사용자 온라인 상태 변경 1건 (세션 추가/제거 중 상태가 실제로 바뀐 경우에만 생성)
+ * @param seq    presence 스트림 순번 - 변경마다 1씩 증가, 스냅샷의 seq 와 같은 축
+ * @param online true: 온라인 전환(joined), false: 오프라인 전환(left)
+ */
+public record PresenceChange(long seq, String userId, boolean online) {
+
+    public String action() {
+        return online ? "joined" : "left";
+    }
+}
@@ -0,0 +1,18 @@
+package com.company.dotaadminbackend.application;
+
+/**
+ * PresenceStore 의 온라인 상태 변경 통지
+ * - 같은 사용자에 대한 onChange 는 seq 순서로 호출된다 (SimplePresenceService 는 해당 사용자 항목의 compute 안,
+ *   RedisPresenceStore 는 변경 스트림을 읽는 단일 스레드에서 모든 노드의 변경을 seq 순서대로 빠짐없이 호출)
+ *   따라서 구현은 큐에 넣는 정도로 가볍게 유지하고, 전송 등 느린 작업은 다른 스레드에서 해야 한다
+ */
+public interface PresenceChangeListener {
+
+    void onChange(PresenceChange change);
+
+    /**
+     * delta 없이 목록 전체가 바뀐 경우 (clearAll 등) - 클라이언트는 스냅샷을 다시 받아야 한다
+     */
+    default void onReset(long seq) {
+    }
+}
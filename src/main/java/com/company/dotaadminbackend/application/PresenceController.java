@@ -1,10 +1,13 @@
 package com.company.dotaadminbackend.application;
 
-import com.company.dotaadminbackend.config.JwtUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.security.Principal;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -12,12 +15,98 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class PresenceController {
 
-    private final SimplePresenceService presenceService;
-    private final JwtUtil jwtUtil;
+    private static final int MAX_PAGE_SIZE = 1000;
 
+    private final PresenceStore presenceService;
+    private final PresencePublisher presencePublisher;
+    private final ChallengeRoomPresence challengeRoomPresence;
+
+    /**
+     * 온라인 사용자 전체 목록
+     * - ETag = 목록 버전, If-None-Match 가 같으면 목록을 만들지 않고 304
+     */
     @GetMapping
-    public ResponseEntity<?> getPresence() {
-        return ResponseEntity.ok(Map.of("online", presenceService.getOnlineUsers()));
+    public ResponseEntity<?> getPresence(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = etag();
+        if (matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+        PresenceSnapshot snapshot = presencePublisher.snapshot();
+        return ResponseEntity.ok().eTag(etag).body(Map.of("online", snapshot.online(), "seq", snapshot.seq()));
+    }
+
+    /**
+     * 온라인 사용자 수 / 세션 수만 조회 (목록 없음)
+     * - seq 는 온라인 전환 때만 바뀌므로 ETag 에 세션 수를 함께 넣는다 (두 번째 탭, 탭 하나 닫기도 반영)
+     */
+    @GetMapping("/count")
+    public ResponseEntity<?> getCount(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        int sessions = presenceService.getSessionCount();
+        String etag = etag(sessions);
+        if (matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+        return ResponseEntity.ok().eTag(etag).body(Map.of(
+            "online", presenceService.getOnlineCount(),
+            "sessions", sessions,
+            "seq", presenceService.currentSequence()
+        ));
+    }
+
+    /**
+     * 온라인 사용자 커서 페이지 조회
+     * - 첫 요청은 cursor 없이, 이후 응답의 nextCursor 를 그대로 전달 (null 이면 마지막 페이지)
+     * - 한 페이지는 limit 보다 적을 수 있으므로 끝 판단은 nextCursor 로 한다
+     */
+    @GetMapping("/users")
+    public ResponseEntity<?> getUsers(@RequestParam(required = false) String cursor,
+                                      @RequestParam(defaultValue = "100") int limit,
+                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        String etag = etag();
+        if (matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+        return ResponseEntity.ok().eTag(etag).body(presenceService.page(cursor, limit));
+    }
+
+    /**
+     * 특정 사용자 접속 여부
+     */
+    @GetMapping("/users/{userId}")
+    public ResponseEntity<?> getUser(@PathVariable String userId,
+                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        int sessions = presenceService.getSessionCount(userId);
+        String etag = etag(sessions); // 사용자 세션 수 포함 (/count 와 같은 이유)
+        if (matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+        return ResponseEntity.ok().eTag(etag).body(Map.of(
+            "userId", userId,
+            "online", sessions > 0,
+            "sessions", sessions
+        ));
+    }
+
+    /**
+     * 챌린지를 지금 보고 있는 사용자 (/topic/challenges/{id}/presence 구독자)
+     */
+    @GetMapping("/challenges/{challengeId:[0-9]+}")
+    public ResponseEntity<?> getChallengeViewers(@PathVariable Long challengeId) {
+        List<String> viewers = challengeRoomPresence.getViewers(challengeId);
+        return ResponseEntity.ok(Map.of(
+            "challengeId", challengeId,
+            "count", viewers.size(),
+            "viewers", viewers
+        ));
+    }
+
+    // 버전(seq) 이 붙은 스냅샷 - 이후 /topic/presence 의 seq 보다 큰 delta 만 적용하면 된다
+    @GetMapping("/snapshot")
+    public ResponseEntity<PresenceSnapshot> getSnapshot() {
+        return ResponseEntity.ok(presencePublisher.snapshot());
     }
     
     // 테스트용: 수동으로 사용자 등록
@@ -31,27 +120,21 @@ public class PresenceController {
         ));
     }
     
-    // 로그인 시 자동 등록용
+    // 로그인 시 자동 등록용 - JwtAuthenticationFilter 가 이미 인증한 Principal 사용 (토큰 재파싱 없음)
     @PostMapping("/connect")
-    public ResponseEntity<?> connect(@RequestHeader("Authorization") String authHeader) {
-        try {
-            // Bearer 토큰에서 사용자 정보 추출 
-            String token = authHeader.replace("Bearer ", "");
-            
-            // JWT에서 실제 사용자 정보 추출
-            JwtUtil.TokenInfo tokenInfo = jwtUtil.getTokenInfo(token);
-            String userId = tokenInfo.getEmail(); // 이메일을 userId로 사용
-            String sessionId = "session-" + userId + "-" + System.currentTimeMillis();
-            
-            presenceService.onConnect(sessionId, userId);
-            return ResponseEntity.ok(Map.of(
-                "message", "Connected successfully", 
-                "userId", userId,
-                "online", presenceService.getOnlineUsers()
-            ));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    public ResponseEntity<?> connect(Principal principal) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Unauthorized"));
         }
+        String userId = principal.getName(); // 이메일을 userId로 사용
+        String sessionId = "session-" + userId + "-" + System.currentTimeMillis();
+
+        presenceService.onConnect(sessionId, userId);
+        return ResponseEntity.ok(Map.of(
+            "message", "Connected successfully",
+            "userId", userId,
+            "online", presenceService.getOnlineUsers()
+        ));
     }
     
     // 테스트용: 모든 사용자 정리
@@ -63,4 +146,32 @@ public class PresenceController {
             "online", presenceService.getOnlineUsers()
         ));
     }
+
+    private String etag() {
+        return "\"" + presenceService.versionTag() + "\"";
+    }
+
+    private String etag(int sessions) {
+        return "\"" + presenceService.versionTag() + "." + sessions + "\"";
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals(etag) || value.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ResponseEntity<?> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
 }
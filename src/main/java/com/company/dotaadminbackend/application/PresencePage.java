@@ -0,0 +1,12 @@
+package com.company.dotaadminbackend.application;
+
+import java.util.List;
+
+/**
+ * 온라인 사용자 목록의 한 페이지
+ * @param users      이 페이지의 사용자 (limit 보다 적을 수 있음)
+ * @param nextCursor 다음 페이지 조회용 불투명 커서, 마지막 페이지면 null
+ * @param seq        조회 시점의 presence seq
+ */
+public record PresencePage(List<String> users, String nextCursor, long seq) {
+}
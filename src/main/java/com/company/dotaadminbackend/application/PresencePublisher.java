@@ -0,0 +1,189 @@
+package com.company.dotaadminbackend.application;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /topic/presence 브로드캐스트 - 짧은 구간(window) 동안의 변경을 모아 1개 메시지로 전송
+ * - 메시지: {type: PRESENCE_BATCH, fromSeq, toSeq, joined: [...], left: [...], timestamp}
+ *   joined/left 는 구간 안에서 사용자별 "최종 상태" 이므로 여러 번 적용해도 결과가 같다
+ * - 구간 안에서 접속 → 해제 (또는 해제 → 접속) 처럼 상태가 원래대로 돌아온 사용자는 전송하지 않는다
+ *   단, 그 사이에 스냅샷이 발급됐으면 (스냅샷이 중간 상태를 담았을 수 있으므로) 최종 상태를 그대로 보낸다
+ * - 연결 폭주 시에도 window 당 최대 1개 메시지, 변경 사용자 수가 max-batch-size 를 넘으면
+ *   목록 대신 PRESENCE_RESET 1개를 보내고 클라이언트가 스냅샷을 다시 받도록 한다
+ * - app.presence.store=redis 이면 각 노드가 Redis 변경 스트림으로 모든 노드의 변경을 받아 자기 클라이언트에 전송
+ *   (fromSeq..toSeq 구간의 변경이 어느 노드에서 일어났든 모두 포함됨)
+ * - 클라이언트는 구독 직후 또는 fromSeq 가 (마지막 toSeq + 1) 보다 크면
+ *   /app/presence/snapshot (STOMP) 또는 GET /api/presence/snapshot 으로 스냅샷을 받아 다시 맞춘다
+ */
+@Component
+@Slf4j
+public class PresencePublisher implements PresenceChangeListener {
+
+    public static final String TOPIC = "/topic/presence";
+
+    private final PresenceStore presenceService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final long windowMs;
+    private final int maxBatchSize;
+
+    private final Object lock = new Object();
+    // 아래 필드는 모두 lock 으로 보호
+    private Map<String, Pending> pending = new HashMap<>();
+    private boolean resetPending;
+    private long maxSeenSeq;
+    private long lastSentSeq;
+    private long lastSnapshotSeq;
+    private int snapshotsInFlight;
+
+    private ScheduledExecutorService flusher;
+
+    public PresencePublisher(PresenceStore presenceService, SimpMessagingTemplate messagingTemplate,
+            @Value("${app.presence.broadcast.window-ms:150}") long windowMs,
+            @Value("${app.presence.broadcast.max-batch-size:1000}") int maxBatchSize) {
+        this.presenceService = presenceService;
+        this.messagingTemplate = messagingTemplate;
+        this.windowMs = Math.max(10, windowMs);
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @PostConstruct
+    public void start() {
+        long current = presenceService.currentSequence();
+        this.maxSeenSeq = current;
+        this.lastSentSeq = current;
+        presenceService.setChangeListener(this);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("presence-flush-"));
+        flusher.scheduleWithFixedDelay(this::flushSafely, windowMs, windowMs, TimeUnit.MILLISECONDS);
+        log.info("[PresencePublisher] windowMs={} maxBatchSize={}", windowMs, maxBatchSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        flusher.shutdown();
+    }
+
+    @Override
+    public void onChange(PresenceChange change) {
+        synchronized (lock) {
+            Pending entry = pending.get(change.userId());
+            if (entry == null) {
+                pending.put(change.userId(), new Pending(change.seq(), !change.online(), change.online()));
+            } else {
+                entry.finalOnline = change.online();
+            }
+            maxSeenSeq = Math.max(maxSeenSeq, change.seq());
+        }
+    }
+
+    @Override
+    public void onReset(long seq) {
+        synchronized (lock) {
+            pending = new HashMap<>();
+            resetPending = true;
+            maxSeenSeq = Math.max(maxSeenSeq, seq);
+        }
+    }
+
+    /**
+     * 스냅샷 발급 - 발급 중/발급된 seq 이후에 시작된 변경만 상쇄 대상이 되도록 기록
+     */
+    public PresenceSnapshot snapshot() {
+        synchronized (lock) {
+            snapshotsInFlight++;
+        }
+        PresenceSnapshot snapshot = null;
+        try {
+            snapshot = presenceService.snapshot();
+            return snapshot;
+        } finally {
+            synchronized (lock) {
+                snapshotsInFlight--;
+                if (snapshot != null) {
+                    lastSnapshotSeq = Math.max(lastSnapshotSeq, snapshot.seq());
+                }
+            }
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("[PresencePublisher] flush failed: {}", e.getMessage(), e);
+        }
+    }
+
+    void flush() {
+        Map<String, Object> payload;
+        synchronized (lock) {
+            if (maxSeenSeq == lastSentSeq && !resetPending) {
+                return;
+            }
+            long fromSeq = lastSentSeq + 1;
+            long toSeq = maxSeenSeq;
+            if (resetPending || pending.size() > maxBatchSize) {
+                payload = Map.of(
+                    "type", "PRESENCE_RESET",
+                    "seq", toSeq,
+                    "timestamp", System.currentTimeMillis()
+                );
+            } else {
+                boolean cancellable = snapshotsInFlight == 0;
+                List<String> joined = new ArrayList<>();
+                List<String> left = new ArrayList<>();
+                for (Map.Entry<String, Pending> e : pending.entrySet()) {
+                    Pending p = e.getValue();
+                    if (p.finalOnline == p.initialOnline && cancellable && p.firstSeq > lastSnapshotSeq) {
+                        continue; // 상쇄
+                    }
+                    (p.finalOnline ? joined : left).add(e.getKey());
+                }
+                if (joined.isEmpty() && left.isEmpty()) {
+                    // 모두 상쇄됨 - 보낼 것이 없으므로 seq 범위는 다음 배치에 포함시킨다
+                    pending = new HashMap<>();
+                    return;
+                }
+                payload = Map.of(
+                    "type", "PRESENCE_BATCH",
+                    "fromSeq", fromSeq,
+                    "toSeq", toSeq,
+                    "joined", joined,
+                    "left", left,
+                    "timestamp", System.currentTimeMillis()
+                );
+            }
+            pending = new HashMap<>();
+            resetPending = false;
+            lastSentSeq = toSeq;
+        }
+
+        log.debug("Broadcasting presence {}", payload.get("type"));
+        messagingTemplate.convertAndSend(TOPIC, payload);
+    }
+
+    private static final class Pending {
+        final long firstSeq;
+        final boolean initialOnline;
+        boolean finalOnline;
+
+        Pending(long firstSeq, boolean initialOnline, boolean finalOnline) {
+            this.firstSeq = firstSeq;
+            this.initialOnline = initialOnline;
+            this.finalOnline = finalOnline;
+        }
+    }
+}
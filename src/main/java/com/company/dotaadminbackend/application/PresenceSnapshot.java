@@ -0,0 +1,10 @@
+package com.company.dotaadminbackend.application;
+
+import java.util.Set;
+
+/**
+ * 특정 seq 시점의 온라인 사용자 전체 목록
+ * - seq 이하의 변경은 모두 반영되어 있으므로 클라이언트는 seq 보다 큰 delta 만 이어서 적용하면 된다
+ */
+public record PresenceSnapshot(long seq, Set<String> online, long timestamp) {
+}
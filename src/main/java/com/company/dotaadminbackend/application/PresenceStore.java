@@ -0,0 +1,73 @@
+package com.company.dotaadminbackend.application;
+
+import java.util.Set;
+
+/**
+ * 접속 상태 저장소
+ * - memory (기본, SimplePresenceService): 단일 노드용 인메모리
+ * - redis (RedisPresenceStore): 여러 노드가 같은 온라인 목록을 공유
+ * 선택: app.presence.store=memory|redis
+ *
+ * 온라인 상태가 바뀌면 seq 가 1 증가하고 PresenceChangeListener 에 통지된다
+ * (같은 사용자에 대한 통지는 seq 순서로 전달)
+ */
+public interface PresenceStore {
+
+    /**
+     * @return 새로운 사용자인 경우 온라인 전환 변경, 기존 사용자의 추가 세션이면 null
+     */
+    PresenceChange onConnect(String sessionId, String userId);
+
+    /**
+     * @return 완전히 오프라인된 경우 오프라인 전환 변경 (아직 다른 세션이 있거나 모르는 세션이면 null)
+     */
+    PresenceChange onDisconnect(String sessionId);
+
+    Set<String> getOnlineUsers();
+
+    /**
+     * seq 와 온라인 목록을 일관된 한 시점으로 조회
+     */
+    PresenceSnapshot snapshot();
+
+    /**
+     * 마지막으로 부여된 presence seq
+     */
+    long currentSequence();
+
+    /**
+     * 온라인 목록 버전 (ETag 용) - 목록이 바뀌면 반드시 달라지고, 목록을 만들지 않고 O(1) 로 계산
+     * seq 가 재시작으로 0 부터 다시 시작하는 저장소는 인스턴스 구분값을 함께 포함해야 한다
+     */
+    String versionTag();
+
+    /**
+     * 온라인 사용자 목록을 커서로 나눠 조회 (전체 목록을 복사하지 않음)
+     * @param cursor 이전 페이지의 nextCursor, 첫 페이지면 null
+     * @throws IllegalArgumentException 잘못된 커서
+     */
+    PresencePage page(String cursor, int limit);
+
+    boolean isOnline(String userId);
+
+    int getOnlineCount();
+
+    int getSessionCount();
+
+    /**
+     * 사용자의 현재 세션 수 (오프라인이면 0)
+     */
+    int getSessionCount(String userId);
+
+    /**
+     * 사용자 활동 상태 업데이트 (heartbeat)
+     */
+    void updateUserActivity(String userId);
+
+    /**
+     * 모든 사용자 정리 (테스트용)
+     */
+    void clearAll();
+
+    void setChangeListener(PresenceChangeListener changeListener);
+}
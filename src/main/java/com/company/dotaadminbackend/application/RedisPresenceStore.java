@@ -0,0 +1,384 @@
+package com.company.dotaadminbackend.application;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 기반 접속 상태 저장소 (여러 백엔드 노드가 같은 온라인 목록 공유)
+ *
+ * 키 구조 (prefix 기본값 "{presence}:" - hash tag 로 cluster 에서도 한 slot 에 모임)
+ * - node:{nodeId}         hash  sessionId -> userId (노드별 세션 목록)
+ * - node:{nodeId}:alive   string, TTL = node-ttl-ms (heartbeat 로 갱신)
+ * - nodes                 set   등록된 nodeId
+ * - user:{userId}         set   "{nodeId}|{sessionId}" (사용자의 모든 노드 세션)
+ * - online                set   온라인 userId
+ * - seq / sessions        온라인 상태 변경 순번 / 전체 세션 수
+ * - changes               stream 변경 기록 (entry id = "{seq}-0", 최대 changes-max-len 개 유지)
+ *
+ * - 연결/해제/노드 정리는 Lua 스크립트로 원자적으로 처리 (마지막 세션 판정, seq 부여, 변경 기록이 한 번에 일어남)
+ * - heartbeat 가 끊긴 노드(alive 키 만료)의 세션은 살아 있는 노드가 정리 (오프라인 변경도 changes 에 기록)
+ *   GC 정지 등으로 살아 있는 노드의 alive 키가 잠시 만료돼 정리된 경우, 그 노드의 다음 heartbeat 가
+ *   이를 감지해 localSessions 를 다시 등록 (정리 스크립트는 alive 키가 다시 생긴 노드는 건너뜀)
+ * - 변경 통지: 모든 노드가 changes 를 poll-interval-ms 마다 읽어 seq 순서대로 PresenceChangeListener 에 전달
+ *   → 어느 노드에서 일어난 변경이든 각 노드의 리스너가 빠짐없이 연속된 seq 로 받는다
+ *   (노드별로 자기 변경만 통지하면 PRESENCE_BATCH 의 seq 구간에 다른 노드 변경이 빠진 채 포함됨)
+ * - 읽기가 늦어 changes 가 잘린 구간을 만나면 onReset 으로 통지 (클라이언트는 스냅샷 재조회)
+ * - 페이지 조회는 SSCAN 커서 그대로 사용 (순서 없음, 페이지 크기는 근사값, 조회 중 목록이 바뀌면 중복 가능)
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.presence", name = "store", havingValue = "redis")
+@Slf4j
+public class RedisPresenceStore implements PresenceStore {
+
+    private static final int POLL_BATCH_SIZE = 1000;
+
+    private final StringRedisTemplate redis;
+    private final String prefix;
+    private final String nodeId;
+    private final Duration nodeTtl;
+    private final long pollIntervalMs;
+    private final String changesMaxLen;
+
+    private final RedisScript<List> connectScript = script("redis/presence-connect.lua");
+    private final RedisScript<List> disconnectScript = script("redis/presence-disconnect.lua");
+    private final RedisScript<List> reapNodeScript = script("redis/presence-reap-node.lua");
+    private final RedisScript<List> snapshotScript = script("redis/presence-snapshot.lua");
+    private final RedisScript<List> pageScript = script("redis/presence-page.lua");
+    private final RedisScript<List> changesScript = script("redis/presence-changes.lua");
+    private final RedisScript<Long> clearScript = new DefaultRedisScript<>(readScript("redis/presence-clear.lua"), Long.class);
+
+    // 이 노드에 붙은 세션 (이 노드에서 연결된 적 없는 세션의 해제는 Redis 까지 가지 않음)
+    private final Map<String, String> localSessions = new ConcurrentHashMap<>();
+
+    private volatile PresenceChangeListener changeListener = change -> { };
+    private long deliveredSeq; // pollChanges 에서만 사용 (synchronized)
+    private ScheduledExecutorService poller;
+
+    public RedisPresenceStore(StringRedisTemplate redis,
+            @Value("${app.presence.redis.key-prefix:{presence}:}") String prefix,
+            @Value("${app.presence.redis.node-id:}") String nodeId,
+            @Value("${app.presence.redis.node-ttl-ms:30000}") long nodeTtlMs,
+            @Value("${app.presence.redis.poll-interval-ms:50}") long pollIntervalMs,
+            @Value("${app.presence.redis.changes-max-len:100000}") long changesMaxLen) {
+        this.redis = redis;
+        this.prefix = prefix;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.nodeTtl = Duration.ofMillis(nodeTtlMs);
+        this.pollIntervalMs = Math.max(1, pollIntervalMs);
+        this.changesMaxLen = Long.toString(Math.max(1, changesMaxLen));
+    }
+
+    @PostConstruct
+    public void register() {
+        synchronized (this) {
+            deliveredSeq = currentSequence();
+        }
+        heartbeat();
+        poller = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("presence-changes-"));
+        poller.scheduleWithFixedDelay(this::pollSafely, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("[RedisPresenceStore] node={} prefix={} ttl={} poll={}ms", nodeId, prefix, nodeTtl, pollIntervalMs);
+    }
+
+    /**
+     * 정상 종료 시 이 노드의 세션을 즉시 정리 (TTL 만료를 기다리지 않음)
+     */
+    @PreDestroy
+    public void deregister() {
+        if (poller != null) {
+            poller.shutdown();
+        }
+        try {
+            reapNode(nodeId, true);
+            redis.delete(aliveKey(nodeId));
+        } catch (Exception e) {
+            log.warn("[RedisPresenceStore] Failed to deregister node {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    @Override
+    public void setChangeListener(PresenceChangeListener changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    @Override
+    public PresenceChange onConnect(String sessionId, String userId) {
+        localSessions.put(sessionId, userId);
+        // 같은 세션이 다른 사용자로 다시 인증되면 이전 사용자의 오프라인 전환도 스크립트 안에서 기록된다
+        List<?> result = redis.execute(connectScript, sharedKeys(), prefix, nodeId, sessionId, userId, changesMaxLen);
+        long joinedSeq = asLong(result.get(0));
+        return joinedSeq > 0 ? new PresenceChange(joinedSeq, userId, true) : null;
+    }
+
+    @Override
+    public PresenceChange onDisconnect(String sessionId) {
+        String userId = localSessions.remove(sessionId);
+        if (userId == null) {
+            return null; // 이 노드에서 연결된 적 없는 세션
+        }
+        List<?> result = redis.execute(disconnectScript, sharedKeys(), prefix, nodeId, sessionId, changesMaxLen);
+        long leftSeq = asLong(result.get(1));
+        return leftSeq > 0 ? new PresenceChange(leftSeq, userId, false) : null;
+    }
+
+    @Override
+    public Set<String> getOnlineUsers() {
+        Set<String> members = redis.opsForSet().members(key("online"));
+        return members == null ? new HashSet<>() : new HashSet<>(members);
+    }
+
+    @Override
+    public PresenceSnapshot snapshot() {
+        List<?> result = redis.execute(snapshotScript, List.of(key("seq"), key("online")));
+        Set<String> online = new HashSet<>(Math.max(16, result.size() * 4 / 3));
+        for (int i = 1; i < result.size(); i++) {
+            online.add((String) result.get(i));
+        }
+        return new PresenceSnapshot(asLong(result.get(0)), Collections.unmodifiableSet(online), System.currentTimeMillis());
+    }
+
+    @Override
+    public long currentSequence() {
+        String value = redis.opsForValue().get(key("seq"));
+        return value == null ? 0L : Long.parseLong(value);
+    }
+
+    @Override
+    public String versionTag() {
+        // seq 는 Redis 에 보관되어 재시작과 무관하고 모든 노드가 같은 값을 본다
+        return "r." + currentSequence();
+    }
+
+    @Override
+    public PresencePage page(String cursor, int limit) {
+        String scanCursor = cursor == null || cursor.isEmpty() ? "0" : cursor;
+        if (!scanCursor.chars().allMatch(Character::isDigit)) {
+            throw new IllegalArgumentException("Invalid presence cursor: " + cursor);
+        }
+        List<?> result = redis.execute(pageScript, List.of(key("seq"), key("online")),
+                scanCursor, Integer.toString(Math.max(limit, 1)));
+        List<String> users = new ArrayList<>(result.size());
+        for (int i = 2; i < result.size(); i++) {
+            users.add((String) result.get(i));
+        }
+        String next = (String) result.get(1);
+        return new PresencePage(users, "0".equals(next) ? null : next, asLong(result.get(0)));
+    }
+
+    @Override
+    public boolean isOnline(String userId) {
+        return Boolean.TRUE.equals(redis.opsForSet().isMember(key("online"), userId));
+    }
+
+    @Override
+    public int getOnlineCount() {
+        Long size = redis.opsForSet().size(key("online"));
+        return size == null ? 0 : size.intValue();
+    }
+
+    @Override
+    public int getSessionCount() {
+        String value = redis.opsForValue().get(key("sessions"));
+        return value == null ? 0 : Integer.parseInt(value);
+    }
+
+    @Override
+    public int getSessionCount(String userId) {
+        Long size = redis.opsForSet().size(key("user:" + userId));
+        return size == null ? 0 : size.intValue();
+    }
+
+    @Override
+    public void updateUserActivity(String userId) {
+        log.debug("User activity: {}", userId);
+    }
+
+    @Override
+    public void clearAll() {
+        redis.execute(clearScript, List.of(key("online"), key("seq"), key("sessions"), key("nodes"), key("changes")),
+                prefix, changesMaxLen);
+        localSessions.clear();
+        log.info("All presence data cleared");
+    }
+
+    /**
+     * alive 키 TTL 갱신 + 노드 등록, 이어서 heartbeat 가 끊긴 다른 노드 정리
+     * - alive 키가 이미 만료됐거나 노드 세션 hash 가 없어졌으면 (다른 노드가 이 노드를 정리했을 수 있음)
+     *   alive 키를 다시 만든 뒤 localSessions 를 다시 등록
+     */
+    @Scheduled(initialDelayString = "${app.presence.redis.heartbeat-interval-ms:10000}",
+               fixedDelayString = "${app.presence.redis.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        boolean lapsed = !Boolean.TRUE.equals(redis.expire(aliveKey(nodeId), nodeTtl));
+        if (lapsed) {
+            redis.opsForValue().set(aliveKey(nodeId), "1", nodeTtl);
+        }
+        redis.opsForSet().add(key("nodes"), nodeId);
+        if (!localSessions.isEmpty() && (lapsed || !Boolean.TRUE.equals(redis.hasKey(key("node:" + nodeId))))) {
+            int restored = restoreLocalSessions();
+            log.warn("[RedisPresenceStore] Node {} heartbeat lapsed, re-registered {} sessions", nodeId, restored);
+        }
+        reapDeadNodes();
+    }
+
+    /**
+     * localSessions 를 Redis 에 다시 등록 (이미 있는 세션은 변화 없음)
+     * 등록 도중 연결 해제된 세션은 해제 스크립트를 한 번 더 실행해 되살리지 않는다
+     */
+    private int restoreLocalSessions() {
+        int restored = 0;
+        for (Map.Entry<String, String> session : new ArrayList<>(localSessions.entrySet())) {
+            String sessionId = session.getKey();
+            String userId = session.getValue();
+            redis.execute(connectScript, sharedKeys(), prefix, nodeId, sessionId, userId, changesMaxLen);
+            if (!userId.equals(localSessions.get(sessionId))) {
+                redis.execute(disconnectScript, sharedKeys(), prefix, nodeId, sessionId, changesMaxLen);
+            } else {
+                restored++;
+            }
+        }
+        return restored;
+    }
+
+    /**
+     * @return 정리한 노드 수
+     */
+    public int reapDeadNodes() {
+        Set<String> nodes = redis.opsForSet().members(key("nodes"));
+        if (nodes == null) {
+            return 0;
+        }
+        int reaped = 0;
+        for (String node : nodes) {
+            if (!node.equals(nodeId) && !Boolean.TRUE.equals(redis.hasKey(aliveKey(node)))) {
+                int offline = reapNode(node, false);
+                log.info("[RedisPresenceStore] Reaped dead node {} ({} users went offline)", node, offline);
+                reaped++;
+            }
+        }
+        return reaped;
+    }
+
+    /**
+     * @param force false 면 스크립트 안에서 alive 키를 다시 확인해 그 사이 heartbeat 가 돌아온 노드는 정리하지 않음
+     */
+    private int reapNode(String node, boolean force) {
+        List<?> result = redis.execute(reapNodeScript,
+                List.of(key("node:" + node), key("online"), key("seq"), key("sessions"), key("nodes"), key("changes"),
+                        aliveKey(node)),
+                prefix, node, changesMaxLen, force ? "1" : "0");
+        return result.size() / 2;
+    }
+
+    private void pollSafely() {
+        try {
+            pollChanges();
+        } catch (Exception e) {
+            log.warn("[RedisPresenceStore] Failed to read presence changes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 마지막으로 전달한 seq 다음부터 변경 스트림을 읽어 리스너에 seq 순서대로 전달
+     * - 스트림이 잘려 다음 seq 가 없거나 seq 가 되돌아간 경우(Redis 초기화 등) onReset 후 현재 seq 부터 이어 읽음
+     */
+    public synchronized void pollChanges() {
+        while (true) {
+            List<?> result = redis.execute(changesScript, List.of(key("changes"), key("seq")),
+                    Long.toString(deliveredSeq + 1), Integer.toString(POLL_BATCH_SIZE));
+            long current = asLong(result.get(0));
+            int entries = (result.size() - 1) / 3;
+            for (int i = 1; i + 2 < result.size(); i += 3) {
+                long seq = asLong(result.get(i));
+                if (seq != deliveredSeq + 1) {
+                    resync(current);
+                    return;
+                }
+                String flag = (String) result.get(i + 2);
+                if ("r".equals(flag)) {
+                    changeListener.onReset(seq);
+                } else {
+                    changeListener.onChange(new PresenceChange(seq, (String) result.get(i + 1), "1".equals(flag)));
+                }
+                deliveredSeq = seq;
+            }
+            if (entries == 0 && current != deliveredSeq) {
+                resync(current);
+                return;
+            }
+            if (entries < POLL_BATCH_SIZE) {
+                return;
+            }
+        }
+    }
+
+    private void resync(long current) {
+        log.warn("[RedisPresenceStore] Presence changes {}..{} no longer available, resetting", deliveredSeq + 1, current);
+        deliveredSeq = current;
+        changeListener.onReset(current);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private List<String> sharedKeys() {
+        return List.of(key("node:" + nodeId), key("online"), key("seq"), key("sessions"), key("changes"));
+    }
+
+    private String key(String suffix) {
+        return prefix + suffix;
+    }
+
+    private String aliveKey(String node) {
+        return key("node:" + node + ":alive");
+    }
+
+    private static long asLong(Object value) {
+        if (value instanceof Number n) {
+            return n.longValue();
+        }
+        return value == null ? 0L : Long.parseLong(value.toString());
+    }
+
+    private static RedisScript<List> script(String path) {
+        return new DefaultRedisScript<>(readScript(path), List.class);
+    }
+
+    private static String readScript(String path) {
+        try {
+            return new ClassPathResource(path).getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load Redis script " + path, e);
+        }
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
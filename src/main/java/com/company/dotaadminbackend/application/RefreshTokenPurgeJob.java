@@ -0,0 +1,101 @@
+package com.company.dotaadminbackend.application;
+
+import com.company.dotaadminbackend.infrastructure.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 만료/무효화된 refresh 토큰 정기 삭제
+ * - revoke 는 플래그만 바꾸므로, 이 작업이 없으면 refresh_tokens 는 로그인/회전마다 계속 커진다
+ * - 보존기간(retention)은 만료 토큰은 expires_at, revoke 된 토큰은 revoked_at 기준
+ * - 두 조건을 각각의 인덱스로 나눠 조회하고 id 목록 단위 배치로 삭제 (배치마다 별도 트랜잭션)
+ * - 메트릭: auth.refresh_tokens.purged (삭제 행 수), auth.refresh_tokens.purge (실행 시간)
+ */
+@Component
+public class RefreshTokenPurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenPurgeJob.class);
+
+    private final RefreshTokenRepository repository;
+    private final Counter purgedCounter;
+    private final Timer purgeTimer;
+
+    @Value("${app.jwt.refresh-purge.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.jwt.refresh-purge.retention-ms:86400000}")
+    private long retentionMs;
+
+    @Value("${app.jwt.refresh-purge.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.jwt.refresh-purge.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    public RefreshTokenPurgeJob(RefreshTokenRepository repository, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.purgedCounter = Counter.builder("auth.refresh_tokens.purged")
+                .description("Expired or revoked refresh tokens deleted by the purge job")
+                .register(meterRegistry);
+        this.purgeTimer = Timer.builder("auth.refresh_tokens.purge")
+                .description("Time spent per refresh token purge run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${app.jwt.refresh-purge.initial-delay-ms:60000}",
+               fixedDelayString = "${app.jwt.refresh-purge.interval-ms:3600000}")
+    public void purge() {
+        if (!enabled) {
+            return;
+        }
+        Timer.Sample sample = Timer.start();
+        long deleted;
+        try {
+            deleted = purgeExpired(Instant.now().minusMillis(retentionMs));
+        } finally {
+            sample.stop(purgeTimer);
+        }
+        if (deleted > 0) {
+            log.info("[RefreshTokenPurgeJob] Purged {} refresh tokens", deleted);
+        }
+    }
+
+    /**
+     * cutoff 이전에 만료되었거나 cutoff 이전에 revoke 된 토큰을 batchSize 단위로 삭제
+     * @return 삭제된 행 수
+     */
+    public long purgeExpired(Instant cutoff) {
+        return purgeBatches(pageable -> repository.findExpiredIds(cutoff, pageable), cutoff)
+                + purgeBatches(pageable -> repository.findRevokedIds(cutoff, pageable), cutoff);
+    }
+
+    // 조건별로 최대 maxBatchesPerRun 배치
+    private long purgeBatches(Function<Pageable, List<Long>> finder, Instant cutoff) {
+        long total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<Long> ids = finder.apply(PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            int deleted = repository.deletePurgeable(ids, cutoff);
+            purgedCounter.increment(deleted);
+            total += deleted;
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+}
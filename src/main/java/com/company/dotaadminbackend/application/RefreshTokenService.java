@@ -4,30 +4,61 @@ import com.company.dotaadminbackend.infrastructure.entity.RefreshTokenEntity;
 import com.company.dotaadminbackend.infrastructure.entity.UserEntity;
 import com.company.dotaadminbackend.infrastructure.repository.RefreshTokenRepository;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
 import java.security.SecureRandom;
 import java.time.Instant;
 import java.util.Base64;
 import java.util.Optional;
-import java.util.List;
 
+/**
+ * Refresh 토큰 발급/검증
+ * - 토큰 형식: "{selector}.{verifier}"
+ *   selector 는 tokenHash 컬럼(unique index)에 그대로 저장되어 단건 조회에 쓰이고,
+ *   verifier 는 HMAC-SHA256 digest 만 저장되어 상수 시간 비교로 검증된다.
+ * - 구 형식(BCrypt 해시만 저장된) 토큰은 legacy fallback 으로 검증되며,
+ *   refresh 시 회전(rotate)되면서 새 형식으로 자연스럽게 교체된다.
+ *   구 형식 모양(64자 base64url)이 아닌 값은 조회 없이 거절, BCrypt 비교는 PasswordHashingService lane 에서
+ *   최근 발급된 후보 refresh-legacy-max-candidates 개까지만 수행 (lane 이 가득 차면 429)
+ */
 @Service
 public class RefreshTokenService {
 
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final char SEPARATOR = '.';
+    // 구 형식 토큰 = 48 byte 난수의 base64url (padding 없음)
+    private static final int LEGACY_TOKEN_LENGTH = 64;
+
     private final RefreshTokenRepository repository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
 
     @Value("${app.jwt.refresh-expiration}")
     private long refreshTtlMs;
 
+    // 모든 구 형식 토큰이 만료되면 false 로 꺼서 BCrypt 경로를 완전히 제거
+    @Value("${app.jwt.refresh-legacy-fallback:true}")
+    private boolean legacyFallback;
+
+    // legacy fallback 1회에 BCrypt 비교하는 최대 후보 수 (발급 시각 최신순)
+    @Value("${app.jwt.refresh-legacy-max-candidates:50}")
+    private int legacyMaxCandidates;
+
+    private final SecretKeySpec verifierKey;
+
     private final SecureRandom secureRandom = new SecureRandom();
 
-    public RefreshTokenService(RefreshTokenRepository repository, PasswordEncoder passwordEncoder) {
+    public RefreshTokenService(RefreshTokenRepository repository, PasswordHashingService passwordHashingService,
+            @Value("${app.jwt.refresh-pepper:${app.jwt.secret}}") String pepper) {
         this.repository = repository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
+        this.verifierKey = new SecretKeySpec(pepper.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
     }
 
     public static class GeneratedToken {
@@ -38,13 +69,14 @@ public class RefreshTokenService {
 
     @Transactional
     public GeneratedToken create(UserEntity user, String ip, String userAgent) {
-        byte[] bytes = new byte[48]; // 64 base64 length approx
-        secureRandom.nextBytes(bytes);
-        String raw = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        String selector = randomToken(12);  // 16 chars
+        String verifier = randomToken(32);  // 43 chars
+        String raw = selector + SEPARATOR + verifier;
 
         RefreshTokenEntity e = new RefreshTokenEntity();
         e.setUser(user);
-        e.setTokenHash(passwordEncoder.encode(raw));
+        e.setTokenHash(selector);
+        e.setVerifierHash(digestVerifier(verifier));
         e.setExpiresAt(Instant.now().plusMillis(refreshTtlMs));
         e.setIp(ip);
         e.setUserAgent(userAgent);
@@ -53,16 +85,72 @@ public class RefreshTokenService {
     }
 
     public Optional<RefreshTokenEntity> findValid(String raw) {
-        List<RefreshTokenEntity> all = repository.findAll();
-        return all.stream()
-                .filter(rt -> !rt.isRevoked() && rt.getExpiresAt().isAfter(Instant.now()))
-                .filter(rt -> passwordEncoder.matches(raw, rt.getTokenHash()))
-                .findFirst();
+        if (raw == null || raw.isEmpty()) {
+            return Optional.empty();
+        }
+        Instant now = Instant.now();
+        int sep = raw.indexOf(SEPARATOR);
+        if (sep < 0) {
+            return legacyFallback ? findLegacy(raw, now) : Optional.empty();
+        }
+
+        String selector = raw.substring(0, sep);
+        String verifier = raw.substring(sep + 1);
+        return repository.findByTokenHash(selector)
+                .filter(rt -> rt.getVerifierHash() != null)
+                .filter(rt -> MessageDigest.isEqual(
+                        digestVerifier(verifier).getBytes(StandardCharsets.US_ASCII),
+                        rt.getVerifierHash().getBytes(StandardCharsets.US_ASCII)))
+                .filter(rt -> !rt.isRevoked() && rt.getExpiresAt().isAfter(now));
     }
 
     @Transactional
     public void revoke(RefreshTokenEntity token) {
         token.setRevoked(true);
+        token.setRevokedAt(Instant.now());
         repository.save(token);
     }
+
+    // 구 형식 토큰: 남아있는 legacy 행만 대상으로 BCrypt 비교 (새 형식 행은 스캔하지 않음)
+    // 모양이 다른 값(임의 쿠키)은 DB/BCrypt 없이 거절, 비교는 요청 스레드가 아닌 hashing lane 에서 후보 수 제한
+    private Optional<RefreshTokenEntity> findLegacy(String raw, Instant now) {
+        if (!isLegacyFormat(raw)) {
+            return Optional.empty();
+        }
+        return repository.findLegacyCandidates(now, PageRequest.of(0, Math.max(1, legacyMaxCandidates))).stream()
+                .filter(rt -> passwordHashingService.matches(raw, rt.getTokenHash()))
+                .findFirst();
+    }
+
+    private static boolean isLegacyFormat(String raw) {
+        if (raw.length() != LEGACY_TOKEN_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            boolean base64Url = (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_';
+            if (!base64Url) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String randomToken(int byteLength) {
+        byte[] bytes = new byte[byteLength];
+        secureRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private String digestVerifier(String verifier) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(verifierKey);
+            byte[] digest = mac.doFinal(verifier.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to digest refresh token verifier", e);
+        }
+    }
 }
@@ -1,9 +1,11 @@
 package com.company.dotaadminbackend.application;
 
+import com.company.dotaadminbackend.application.event.AuthorityMappingChangedEvent;
 import com.company.dotaadminbackend.infrastructure.dto.CreateRoleRequest;
 import com.company.dotaadminbackend.infrastructure.dto.UpdateRoleRequest;
 import com.company.dotaadminbackend.infrastructure.adapter.RoleRepository;
 import com.company.dotaadminbackend.infrastructure.entity.RoleEntity;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
@@ -18,16 +20,20 @@ import java.util.List;
 //  - No seeding / no authority mapping logic here
 // Seeding: bootstrap/RoleInitializer & bootstrap/UserInitializer
 // Registration-time role decision: UserService.resolveRegistrationRole
+// Every mutation publishes AuthorityMappingChangedEvent so the in-memory
+// AuthoritySnapshot is rebuilt after commit.
 // Keep comments ASCII to avoid encoding/BOM issues on some servers.
 @Service
 @Transactional
 public class RoleService {
 
     private final RoleRepository roleRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private static final Logger log = LoggerFactory.getLogger(RoleService.class);
 
-    public RoleService(RoleRepository roleRepository) {
+    public RoleService(RoleRepository roleRepository, ApplicationEventPublisher eventPublisher) {
         this.roleRepository = roleRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -60,6 +66,7 @@ public class RoleService {
 
         RoleEntity savedEntity = roleRepository.save(entity);
         log.debug("[RoleService] Created role id={}", savedEntity.getId());
+        eventPublisher.publishEvent(new AuthorityMappingChangedEvent(this, "role created: " + savedEntity.getId()));
         return savedEntity;
     }
 
@@ -79,6 +86,7 @@ public class RoleService {
         
         RoleEntity savedEntity = roleRepository.save(entity);
         log.debug("[RoleService] Updated role id={}", savedEntity.getId());
+        eventPublisher.publishEvent(new AuthorityMappingChangedEvent(this, "role updated: " + savedEntity.getId()));
         return savedEntity;
     }
 
@@ -90,6 +98,7 @@ public class RoleService {
         }
         roleRepository.deleteById(id);
         log.debug("[RoleService] Deleted role id={}", id);
+        eventPublisher.publishEvent(new AuthorityMappingChangedEvent(this, "role deleted: " + id));
     }
 
 }
@@ -0,0 +1,208 @@
+package com.company.dotaadminbackend.application;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebSocket 세션별 마지막 활동 시각 추적 + 유휴 세션 만료
+ * - 활동(STOMP 프레임/heartbeat, /app/presence/activity)마다 touch → lastActivity 갱신만 (O(1), 타이머 조작 없음)
+ * - 세션마다 예약 작업을 두지 않고 HashedTimingWheel 하나에 마감 시각을 등록,
+ *   tick 스레드 1개가 마감이 된 세션만 확인해 아직 활동 중이면 다시 등록하고 아니면 만료
+ * - 만료는 PresenceStore.onDisconnect 로 처리되므로 일반 연결 해제와 같은 경로로 브로드캐스트된다
+ *   챌린지 room 시청자에서도 제외 (ChallengeRoomPresence.suspend, 구독은 유지)
+ * - 만료된 세션에서 다시 활동이 오면 같은 사용자로 재등록 (연결이 살아 있었던 경우)
+ * - 만료/재등록/추적 중단(untrack)은 세션 항목 lock 으로 직렬화 → 연결 해제 후에 재등록이 끼어들지 않음
+ */
+@Component
+@Slf4j
+public class SessionActivityTracker {
+
+    private final PresenceStore presenceService;
+    private final ChallengeRoomPresence challengeRoomPresence;
+    private final boolean enabled;
+    private final long ttlMs;
+    private final long tickMs;
+
+    private final Map<String, SessionActivity> sessions = new ConcurrentHashMap<>();
+    private final HashedTimingWheel<SessionActivity> wheel;
+    private ScheduledExecutorService ticker;
+
+    // ChallengeRoomPresence → SimpMessagingTemplate → WebSocketConfig → (interceptor) → 이 클래스 순환을 @Lazy 로 끊음
+    public SessionActivityTracker(PresenceStore presenceService, @Lazy ChallengeRoomPresence challengeRoomPresence,
+            @Value("${app.presence.idle.enabled:true}") boolean enabled,
+            @Value("${app.presence.idle.ttl-ms:60000}") long ttlMs,
+            @Value("${app.presence.idle.tick-ms:1000}") long tickMs) {
+        this.presenceService = presenceService;
+        this.challengeRoomPresence = challengeRoomPresence;
+        this.enabled = enabled;
+        this.ttlMs = Math.max(1000, ttlMs);
+        this.tickMs = Math.max(10, Math.min(tickMs, this.ttlMs));
+        this.wheel = new HashedTimingWheel<>(this.tickMs, this.ttlMs, System.currentTimeMillis());
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        this.ticker = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("presence-idle-"));
+        ticker.scheduleWithFixedDelay(this::tickSafely, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        log.info("[SessionActivityTracker] ttlMs={} tickMs={}", ttlMs, tickMs);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (ticker != null) {
+            ticker.shutdown();
+        }
+    }
+
+    /**
+     * 연결된 세션 추적 시작 (PresenceStore.onConnect 와 함께 호출)
+     */
+    public void track(String sessionId, String userId) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        SessionActivity activity = new SessionActivity(sessionId, userId, now);
+        sessions.put(sessionId, activity);
+        wheel.schedule(activity, now + ttlMs);
+    }
+
+    /**
+     * 연결 해제된 세션 추적 중단 (휠에 남은 항목은 다음 검사 때 버려진다)
+     * 진행 중인 재등록이 있으면 끝날 때까지 기다리므로, 이후 호출되는 PresenceStore.onDisconnect 가 항상 마지막이 된다
+     */
+    public void untrack(String sessionId) {
+        SessionActivity activity = sessions.remove(sessionId);
+        if (activity != null) {
+            synchronized (activity) {
+                activity.removed = true;
+            }
+        }
+    }
+
+    /**
+     * 세션 활동 기록
+     */
+    public void touch(String sessionId) {
+        if (sessionId == null) {
+            return;
+        }
+        SessionActivity activity = sessions.get(sessionId);
+        if (activity == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        activity.lastActivity = now;
+        if (activity.expired) {
+            resume(activity, now);
+        }
+    }
+
+    private void resume(SessionActivity activity, long now) {
+        synchronized (activity) {
+            if (activity.removed || !activity.expired) {
+                return; // 이미 연결 해제됨 (또는 다른 스레드가 재등록함)
+            }
+            activity.expired = false;
+            presenceService.onConnect(activity.sessionId, activity.userId);
+            challengeRoomPresence.resume(activity.sessionId);
+        }
+        wheel.schedule(activity, now + ttlMs);
+        log.debug("Idle session {} resumed for user {}", activity.sessionId, activity.userId);
+    }
+
+    /**
+     * 세션의 마지막 활동 시각 (추적하지 않는 세션이면 -1)
+     */
+    public long lastActivity(String sessionId) {
+        SessionActivity activity = sessions.get(sessionId);
+        return activity == null ? -1 : activity.lastActivity;
+    }
+
+    public int getTrackedCount() {
+        return sessions.size();
+    }
+
+    private void tickSafely() {
+        try {
+            expireIdle(System.currentTimeMillis());
+        } catch (Exception e) {
+            log.error("[SessionActivityTracker] tick failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 마감이 된 세션 검사 (평소에는 tick 스레드가 호출)
+     * @return 이번 tick 에 만료시킨 세션 수
+     */
+    public int expireIdle(long now) {
+        List<SessionActivity> due = wheel.advance(now);
+        int expired = 0;
+        for (SessionActivity activity : due) {
+            if (activity.removed || activity.expired) {
+                continue;
+            }
+            long deadline = activity.lastActivity + ttlMs;
+            if (deadline > now) {
+                wheel.schedule(activity, deadline);
+            } else if (expire(activity, now)) {
+                expired++;
+            }
+        }
+        if (expired > 0) {
+            log.debug("Expired {} idle presence sessions", expired);
+        }
+        return expired;
+    }
+
+    private boolean expire(SessionActivity activity, long now) {
+        synchronized (activity) {
+            if (activity.removed || activity.expired) {
+                return false;
+            }
+            activity.expired = true;
+            // touch 는 lastActivity 기록 후 expired 를 읽으므로, 그 사이 활동이 있었으면 여기서 보인다
+            long deadline = activity.lastActivity + ttlMs;
+            if (deadline > now) {
+                activity.expired = false;
+                wheel.schedule(activity, deadline);
+                return false;
+            }
+            challengeRoomPresence.suspend(activity.sessionId);
+            presenceService.onDisconnect(activity.sessionId);
+            return true;
+        }
+    }
+
+    /**
+     * 세션 하나의 활동 상태 - expired/removed 변경은 이 객체의 lock 안에서만
+     */
+    private static final class SessionActivity {
+        final String sessionId;
+        final String userId;
+        volatile long lastActivity;
+        volatile boolean expired;
+        volatile boolean removed;
+
+        SessionActivity(String sessionId, String userId, long lastActivity) {
+            this.sessionId = sessionId;
+            this.userId = userId;
+            this.lastActivity = lastActivity;
+        }
+    }
+}
@@ -1,85 +1,306 @@
 package com.company.dotaadminbackend.application;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * 간단한 인메모리 개발자 접속 상태 관리
+ * - sessionId -> userId(숫자) 정방향 맵 + userId -> 세션 집합 역방향 인덱스
+ * - 연결/해제는 해당 사용자 항목에 대한 ConcurrentHashMap.compute 안에서 처리되어 O(1) 이며,
+ *   같은 사용자의 두 세션이 동시에 끊겨도 "오프라인" 판정은 정확히 한 번만 나온다
+ * - 사용자 키(email)는 UserKeyInterner 로 int id 로 바꿔 세션마다 문자열을 들고 있지 않는다
+ * - 온라인 상태가 바뀔 때마다 같은 compute 안에서 seq 를 부여하고 PresenceChangeListener 에 통지
+ *   → 같은 사용자의 변경 순서, seq 순서, 통지 순서가 모두 일치
+ * - 연결/해제는 stateLock 의 read lock(공유)으로, 스냅샷은 write lock 으로 잡아
+ *   스냅샷의 seq 이하 변경이 모두 목록에 반영되어 있음을 보장한다 (스냅샷은 드물게만 요청됨)
+ * - 페이지 조회는 intern id 순서(처음 접속한 순서)로 진행하고 커서는 마지막으로 본 id
+ *   (새 사용자는 항상 뒤에 붙으므로 페이지를 넘기는 중에 앞 페이지가 밀리지 않는다)
  */
 @Service
+@ConditionalOnProperty(prefix = "app.presence", name = "store", havingValue = "memory", matchIfMissing = true)
 @Slf4j
-public class SimplePresenceService {
+public class SimplePresenceService implements PresenceStore {
 
-    // sessionId -> userId 매핑
-    private final Map<String, String> sessionUserMap = new ConcurrentHashMap<>();
-    
-    // 온라인 사용자 목록
-    private final Set<String> onlineUsers = ConcurrentHashMap.newKeySet();
+    private final UserKeyInterner userKeys = new UserKeyInterner();
+
+    // sessionId -> userId(interned) 매핑
+    private final Map<String, Integer> sessionUserMap = new ConcurrentHashMap<>();
+
+    // userId(interned) -> 접속 중인 세션들 (세션이 하나도 없으면 항목 자체가 없음 = 오프라인)
+    private final Map<Integer, UserSessions> onlineUsers = new ConcurrentHashMap<>();
+
+    private final AtomicLong sequence = new AtomicLong();
+    // seq 는 재시작 시 0 부터 다시 시작하므로 ETag 가 이전 인스턴스 값과 겹치지 않도록 구분
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final ReadWriteLock stateLock = new ReentrantReadWriteLock();
+
+    private volatile PresenceChangeListener changeListener = change -> { };
+
+    @Override
+    public void setChangeListener(PresenceChangeListener changeListener) {
+        this.changeListener = changeListener;
+    }
 
     /**
      * 사용자 연결 처리
-     * @return 새로운 사용자인 경우 true
+     * @return 새로운 사용자인 경우 온라인 전환 변경, 기존 사용자의 추가 세션이면 null
      */
-    public boolean onConnect(String sessionId, String userId) {
-        sessionUserMap.put(sessionId, userId);
-        boolean wasAdded = onlineUsers.add(userId);
-        
-        if (wasAdded) {
-            log.info("User online: {}", userId);
-            return true; // 새로운 사용자
+    @Override
+    public PresenceChange onConnect(String sessionId, String userId) {
+        int id = userKeys.intern(userId);
+        PresenceChange[] joined = new PresenceChange[1];
+        PresenceChange previousUserLeft = null;
+
+        stateLock.readLock().lock();
+        try {
+            Integer previous = sessionUserMap.put(sessionId, id);
+            if (previous != null && previous != id) {
+                // 같은 세션이 다른 사용자로 다시 인증된 경우 이전 사용자에서 떼어낸다
+                previousUserLeft = detach(previous, sessionId);
+            }
+
+            onlineUsers.compute(id, (key, sessions) -> {
+                if (sessions == null) {
+                    sessions = new UserSessions();
+                    joined[0] = new PresenceChange(sequence.incrementAndGet(), userId, true);
+                    changeListener.onChange(joined[0]);
+                }
+                sessions.add(sessionId);
+                return sessions;
+            });
+        } finally {
+            stateLock.readLock().unlock();
+        }
+        if (previousUserLeft != null) {
+            log.debug("Session {} re-authenticated, previous user offline: {}", sessionId, previousUserLeft.userId());
+        }
+
+        if (joined[0] != null) {
+            log.debug("User online: {}", userId);
+            return joined[0]; // 새로운 사용자
         } else {
             log.debug("User session added but already online: {}", userId);
-            return false; // 기존 사용자의 추가 세션
+            return null; // 기존 사용자의 추가 세션
         }
     }
 
     /**
      * 사용자 연결 해제 처리
-     * @return 완전히 오프라인된 사용자 ID (없으면 null)
+     * @return 완전히 오프라인된 경우 오프라인 전환 변경 (아직 다른 세션이 있으면 null)
      */
-    public String onDisconnect(String sessionId) {
-        String userId = sessionUserMap.remove(sessionId);
-        if (userId == null) return null;
-
-        // 해당 사용자의 다른 세션이 남아있는지 확인
-        boolean stillHasSession = sessionUserMap.containsValue(userId);
-        
-        if (!stillHasSession) {
+    @Override
+    public PresenceChange onDisconnect(String sessionId) {
+        PresenceChange change;
+        stateLock.readLock().lock();
+        try {
+            Integer id = sessionUserMap.remove(sessionId);
+            if (id == null) return null;
+            change = detach(id, sessionId);
+        } finally {
+            stateLock.readLock().unlock();
+        }
+
+        if (change != null) {
             // 모든 세션이 종료된 경우 오프라인 처리
-            boolean wasRemoved = onlineUsers.remove(userId);
-            if (wasRemoved) {
-                log.info("User offline: {}", userId);
-                return userId; // 완전히 오프라인된 사용자
-            }
+            log.debug("User offline: {}", change.userId());
         }
-        
-        return null; // 아직 다른 세션이 있어서 온라인 상태 유지
+        return change; // null 이면 아직 다른 세션이 있어서 온라인 상태 유지
+    }
+
+    /**
+     * @return 이 세션 제거로 사용자의 마지막 세션이 사라졌으면 오프라인 전환 변경, 아니면 null
+     */
+    private PresenceChange detach(int id, String sessionId) {
+        PresenceChange[] left = new PresenceChange[1];
+        onlineUsers.computeIfPresent(id, (key, sessions) -> {
+            if (!sessions.remove(sessionId) || !sessions.isEmpty()) {
+                return sessions;
+            }
+            left[0] = new PresenceChange(sequence.incrementAndGet(), userKeys.keyOf(id), false);
+            changeListener.onChange(left[0]);
+            return null;
+        });
+        return left[0];
     }
 
     /**
      * 온라인 사용자 목록 조회
      */
+    @Override
     public Set<String> getOnlineUsers() {
-        return new HashSet<>(onlineUsers);
+        Set<String> result = new HashSet<>(onlineUsers.size() * 4 / 3 + 1);
+        for (Integer id : onlineUsers.keySet()) {
+            result.add(userKeys.keyOf(id));
+        }
+        return result;
+    }
+
+    /**
+     * seq 와 온라인 목록을 일관된 한 시점으로 조회 (진행 중인 연결/해제가 끝날 때까지 잠시 대기)
+     */
+    @Override
+    public PresenceSnapshot snapshot() {
+        stateLock.writeLock().lock();
+        try {
+            return new PresenceSnapshot(sequence.get(), Collections.unmodifiableSet(getOnlineUsers()),
+                    System.currentTimeMillis());
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 마지막으로 부여된 presence seq
+     */
+    @Override
+    public long currentSequence() {
+        return sequence.get();
+    }
+
+    @Override
+    public String versionTag() {
+        return epoch + "." + sequence.get();
+    }
+
+    @Override
+    public PresencePage page(String cursor, int limit) {
+        int after = parseCursor(cursor);
+        long seq = sequence.get();
+        int lastId = userKeys.lastId();
+        // 오프라인 사용자가 대부분인 구간에서도 한 요청이 하는 일이 limit 에 비례하도록 검사 수 제한
+        int scanBudget = Math.max(limit, 1) * 64;
+        List<String> users = new ArrayList<>(Math.min(limit, onlineUsers.size()));
+        int id = after;
+        while (id < lastId && users.size() < limit && scanBudget-- > 0) {
+            id++;
+            if (onlineUsers.containsKey(id)) {
+                users.add(userKeys.keyOf(id));
+            }
+        }
+        return new PresencePage(users, id < lastId ? Integer.toString(id) : null, seq);
+    }
+
+    private static int parseCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            int after = Integer.parseInt(cursor);
+            if (after < 0) {
+                throw new IllegalArgumentException("Invalid presence cursor: " + cursor);
+            }
+            return after;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid presence cursor: " + cursor);
+        }
+    }
+
+    @Override
+    public boolean isOnline(String userId) {
+        Integer id = userKeys.idOf(userId);
+        return id != null && onlineUsers.containsKey(id);
+    }
+
+    @Override
+    public int getOnlineCount() {
+        return onlineUsers.size();
+    }
+
+    @Override
+    public int getSessionCount() {
+        return sessionUserMap.size();
+    }
+
+    /**
+     * 사용자의 현재 세션 수 (오프라인이면 0)
+     */
+    @Override
+    public int getSessionCount(String userId) {
+        Integer id = userKeys.idOf(userId);
+        if (id == null) return 0;
+        UserSessions sessions = onlineUsers.get(id);
+        return sessions == null ? 0 : sessions.count();
     }
 
     /**
      * 사용자 활동 상태 업데이트 (heartbeat)
      */
+    @Override
     public void updateUserActivity(String userId) {
         // 간단 버전에서는 로그만
         log.debug("User activity: {}", userId);
     }
-    
+
     /**
      * 모든 사용자 정리 (테스트용)
      */
+    @Override
     public void clearAll() {
-        sessionUserMap.clear();
-        onlineUsers.clear();
+        stateLock.writeLock().lock();
+        try {
+            sessionUserMap.clear();
+            onlineUsers.clear();
+            // delta 없이 목록이 바뀌므로 reset 을 알려 클라이언트가 스냅샷을 다시 받도록 한다
+            changeListener.onReset(sequence.incrementAndGet());
+        } finally {
+            stateLock.writeLock().unlock();
+        }
         log.info("All presence data cleared");
     }
+
+    /**
+     * 한 사용자의 세션 집합 - 변경은 onlineUsers.compute 안에서만 일어나므로 별도 락 불필요.
+     * 대부분의 사용자는 세션이 1개라 첫 세션은 필드로 두고 두 번째부터 Set 을 만든다.
+     * count 는 volatile 이라 compute 밖에서도 최신 값을 읽을 수 있다.
+     */
+    static final class UserSessions {
+        private String first;
+        private Set<String> others;
+        private volatile int count;
+
+        void add(String sessionId) {
+            if (sessionId.equals(first) || (others != null && others.contains(sessionId))) {
+                return;
+            }
+            if (first == null) {
+                first = sessionId;
+            } else {
+                if (others == null) {
+                    others = new HashSet<>(4);
+                }
+                others.add(sessionId);
+            }
+            count++;
+        }
+
+        boolean remove(String sessionId) {
+            if (sessionId.equals(first)) {
+                first = null;
+                if (others != null && !others.isEmpty()) {
+                    Iterator<String> it = others.iterator();
+                    first = it.next();
+                    it.remove();
+                }
+            } else if (others == null || !others.remove(sessionId)) {
+                return false;
+            }
+            count--;
+            return true;
+        }
+
+        boolean isEmpty() {
+            return count == 0;
+        }
+
+        int count() {
+            return count;
+        }
+    }
 }
@@ -0,0 +1,51 @@
+package com.company.dotaadminbackend.application;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 사용자 키(email 등 문자열) ↔ 숫자 id 매핑
+ * - 세션마다 문자열 키를 들고 있지 않고 int id 만 보관하도록 하기 위한 intern 테이블
+ * - id 는 재사용하지 않는다 (사용자 수만큼만 증가하므로 해제하지 않음)
+ */
+public class UserKeyInterner {
+
+    private final Map<String, Integer> idsByKey = new ConcurrentHashMap<>();
+    private final Map<Integer, String> keysById = new ConcurrentHashMap<>();
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    public int intern(String key) {
+        Integer existing = idsByKey.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        return idsByKey.computeIfAbsent(key, k -> {
+            int id = sequence.incrementAndGet();
+            keysById.put(id, k);
+            return id;
+        });
+    }
+
+    /**
+     * @return 이미 intern 된 키의 id, 처음 보는 키면 null (조회만 하고 등록하지 않음)
+     */
+    public Integer idOf(String key) {
+        return idsByKey.get(key);
+    }
+
+    public String keyOf(int id) {
+        return keysById.get(id);
+    }
+
+    /**
+     * 지금까지 부여한 가장 큰 id (id 는 1 부터 빈틈없이 증가)
+     */
+    public int lastId() {
+        return sequence.get();
+    }
+
+    public int size() {
+        return idsByKey.size();
+    }
+}
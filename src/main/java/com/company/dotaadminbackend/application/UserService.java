@@ -4,15 +4,15 @@ import com.company.dotaadminbackend.application.event.MemberJoinEvent;
 import com.company.dotaadminbackend.infrastructure.entity.AuthorityEntity;
 import com.company.dotaadminbackend.infrastructure.entity.RoleEntity;
 import com.company.dotaadminbackend.infrastructure.entity.UserEntity;
-import com.company.dotaadminbackend.infrastructure.adapter.AuthorityRepository;
 import com.company.dotaadminbackend.infrastructure.adapter.RoleRepository;
 import com.company.dotaadminbackend.infrastructure.adapter.SpringDataUserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -22,21 +22,23 @@ import org.springframework.beans.factory.annotation.Value;
 @Service
 public class UserService {
 
+    private static final Logger log = LoggerFactory.getLogger(UserService.class);
+
     private final SpringDataUserRepository repository;
     private final RoleRepository roleRepository;
-    private final AuthorityRepository authorityRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final AuthoritySnapshotService authoritySnapshotService;
+    private final PasswordHashingService passwordHashingService;
     private final ApplicationEventPublisher eventPublisher;
     @Value("${app.registration.first-user-admin:true}")
     private boolean firstUserAdmin;
 
     public UserService(SpringDataUserRepository repository, RoleRepository roleRepository,
-            AuthorityRepository authorityRepository, PasswordEncoder passwordEncoder,
+            AuthoritySnapshotService authoritySnapshotService, PasswordHashingService passwordHashingService,
             ApplicationEventPublisher eventPublisher) {
         this.repository = repository;
         this.roleRepository = roleRepository;
-        this.authorityRepository = authorityRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.authoritySnapshotService = authoritySnapshotService;
+        this.passwordHashingService = passwordHashingService;
         this.eventPublisher = eventPublisher;
     }
 
@@ -61,7 +63,7 @@ public class UserService {
 
         UserEntity entity = new UserEntity();
         entity.setUsername(username);
-        entity.setPassword(passwordEncoder.encode(password));
+        entity.setPassword(passwordHashingService.encode(password));
         entity.setEmail(email);
         entity.setPhoneNumber(phoneNumber);
         entity.setKakaoNotificationConsent(kakaoNotificationConsent);
@@ -88,7 +90,7 @@ public class UserService {
 
         UserEntity entity = new UserEntity();
         entity.setUsername(username);
-        entity.setPassword(passwordEncoder.encode(password));
+        entity.setPassword(passwordHashingService.encode(password));
         entity.setEmail(email);
         entity.setRole(adminRole);
 
@@ -114,7 +116,27 @@ public class UserService {
     }
 
     public boolean validatePassword(String rawPassword, String encodedPassword) {
-        return passwordEncoder.matches(rawPassword, encodedPassword);
+        return passwordHashingService.matches(rawPassword, encodedPassword);
+    }
+
+    /**
+     * 로그인용 검증 - 성공했고 저장된 해시의 알고리즘/cost 가 현재 설정과 다르면 재해시하여 저장
+     */
+    public boolean validatePasswordAndRehash(UserEntity user, String rawPassword) {
+        if (!validatePassword(rawPassword, user.getPassword())) {
+            return false;
+        }
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            try {
+                user.setPassword(passwordHashingService.encode(rawPassword));
+                repository.save(user);
+                log.info("Password hash upgraded for user id={}", user.getId());
+            } catch (RuntimeException e) {
+                // 재해시 실패는 로그인 자체를 막지 않음 (다음 로그인 때 재시도)
+                log.warn("Password rehash skipped for user id={}: {}", user.getId(), e.getMessage());
+            }
+        }
+        return true;
     }
 
     public Page<UserEntity> findAllUserEntitys(Pageable pageable) {
@@ -131,15 +153,30 @@ public class UserService {
         return repository.countByRoleName(roleName);
     }
 
+    // 권한 조회는 AuthoritySnapshot(메모리) 기반 - JOIN 쿼리 없음
     public List<AuthorityEntity> getUserAuthorities(Long userId) {
-        List<AuthorityEntity> authorities = authorityRepository.findAllUserAuthorities(userId);
-        return authorities.stream()
-                .toList();
+        return repository.findById(userId)
+                .map(this::getUserAuthorities)
+                .orElse(List.of());
+    }
+
+    public List<AuthorityEntity> getUserAuthorities(UserEntity user) {
+        AuthoritySnapshot snapshot = authoritySnapshotService.current();
+        return snapshot.authoritiesOf(snapshot.effectiveBits(user.getId(), roleIdOf(user)));
     }
 
     public boolean hasAuthority(Long userId, String authorityName) {
-        return getUserAuthorities(userId).stream()
-                .anyMatch(auth -> auth.getName().equals(authorityName));
+        return repository.findById(userId)
+                .map(user -> hasAuthority(user, authorityName))
+                .orElse(false);
+    }
+
+    public boolean hasAuthority(UserEntity user, String authorityName) {
+        return authoritySnapshotService.current().hasAuthority(user.getId(), roleIdOf(user), authorityName);
+    }
+
+    private static Long roleIdOf(UserEntity user) {
+        return user.getRole() != null ? user.getRole().getId() : null;
     }
 
     public Optional<UserEntity> findById(Long id) {
@@ -0,0 +1,20 @@
+package com.company.dotaadminbackend.application.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Role / Authority / 매핑 변경 알림 - AuthoritySnapshotService 가 커밋 후 스냅샷을 재빌드
+ */
+public class AuthorityMappingChangedEvent extends ApplicationEvent {
+
+    private final String reason;
+
+    public AuthorityMappingChangedEvent(Object source, String reason) {
+        super(source);
+        this.reason = reason;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+}
@@ -55,6 +55,18 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
     }
 
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingBusyException(PasswordHashingBusyException ex) {
+        log.warn("[Exception] Password hashing lane busy: {}", ex.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(
+                "Too many authentication requests, please retry shortly",
+                "AUTH_BUSY");
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", "1")
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(SecurityException.class)
     public ResponseEntity<ErrorResponse> handleSecurityException(SecurityException ex) {
         log.warn("[Exception] Security exception: {}", ex.getMessage());
@@ -0,0 +1,11 @@
+package com.company.dotaadminbackend.common.exception;
+
+/**
+ * 비밀번호 해시 전용 실행 lane 이 포화 상태 (큐 가득 참 / 대기 시간 초과) - 429 로 응답
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
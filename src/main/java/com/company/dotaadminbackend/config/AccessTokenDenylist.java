@@ -0,0 +1,136 @@
+package com.company.dotaadminbackend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Access 토큰 강제 무효화 목록 (jti 기준, 인메모리)
+ * - 항목은 토큰 자체의 만료 시각까지만 유지 (만료 후에는 어차피 검증에서 걸러짐)
+ * - Bloom filter 를 앞단에 두어 "무효화되지 않음" 판정(대부분의 요청)은 락/IO 없이 해시 몇 번으로 끝남
+ * - Bloom filter 는 삭제가 불가하므로 정리(sweep) 시 남은 항목으로 새로 만들어 참조를 교체
+ */
+@Component
+public class AccessTokenDenylist {
+
+    private static final Logger log = LoggerFactory.getLogger(AccessTokenDenylist.class);
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>(); // jti -> expiresAtMillis
+    private final int expectedInsertions;
+    private volatile BloomFilter bloom;
+
+    public AccessTokenDenylist(@Value("${app.jwt.denylist.expected-size:100000}") int expectedInsertions) {
+        this.expectedInsertions = expectedInsertions;
+        this.bloom = new BloomFilter(expectedInsertions, FALSE_POSITIVE_RATE);
+    }
+
+    public synchronized void revoke(String jti, long expiresAtMillis) {
+        if (jti == null || expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        revoked.put(jti, expiresAtMillis);
+        bloom.put(jti);
+        log.debug("[AccessTokenDenylist] Revoked jti={} until {}", jti, expiresAtMillis);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !bloom.mightContain(jti)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(jti);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.denylist.sweep-interval-ms:60000}")
+    public synchronized void sweep() {
+        long now = System.currentTimeMillis();
+        int before = revoked.size();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        boolean removed = revoked.size() != before;
+        boolean overfull = revoked.size() > bloom.capacity;
+        if (!removed && !overfull) {
+            return; // 제거된 항목이 없고 용량도 충분하면 bloom 재생성 불필요
+        }
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, revoked.size() * 2), FALSE_POSITIVE_RATE);
+        revoked.keySet().forEach(rebuilt::put);
+        this.bloom = rebuilt;
+        if (removed) {
+            log.debug("[AccessTokenDenylist] Swept {} expired entries, {} remain", before - revoked.size(), revoked.size());
+        }
+    }
+
+    /**
+     * 고정 크기 Bloom filter - 읽기는 AtomicLongArray 의 volatile read 만 사용 (lock-free)
+     */
+    static final class BloomFilter {
+
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashCount;
+        final int capacity;
+
+        BloomFilter(int expectedInsertions, double fpp) {
+            int n = Math.max(1, expectedInsertions);
+            this.capacity = n;
+            long bits = (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+            int wordCount = (int) Math.max(1, (bits + 63) / 64);
+            this.words = new AtomicLongArray(wordCount);
+            this.bitCount = (long) wordCount * 64;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        }
+
+        void put(String key) {
+            long hash = fnv1a64(key);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = index(h1 + i * h2);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = words.get(word);
+                    if ((current & mask) != 0) break;
+                } while (!words.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String key) {
+            long hash = fnv1a64(key);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = index(h1 + i * h2);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private long index(int combined) {
+            return (combined & Integer.MAX_VALUE) % bitCount;
+        }
+
+        private static long fnv1a64(String key) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < key.length(); i++) {
+                hash ^= key.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+    }
+}
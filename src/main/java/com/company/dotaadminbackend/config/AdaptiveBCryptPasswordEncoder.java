@@ -0,0 +1,86 @@
+package com.company.dotaadminbackend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * 기동 시 보정(calibrate)된 cost 를 쓰는 BCrypt 인코더
+ * - upgradeEncoding: 저장된 해시의 cost 가 현재 cost 보다 낮을 때만 true → 로그인 성공 시 재해시
+ *   (노드/재기동마다 cost 가 달라도 높은 cost 해시를 낮추지 않으므로 재해시가 반복되지 않음)
+ * - calibrate: 해시 1회가 목표 시간(ms) 안에 끝나는 가장 높은 cost 를 선택 (minCost 미만으로는 내려가지 않음)
+ *   노드마다 결과가 다를 수 있으므로 여러 노드 운영 시에는 app.auth.hashing.cost 로 고정
+ */
+public class AdaptiveBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveBCryptPasswordEncoder.class);
+
+    public static final int MIN_SUPPORTED_COST = 4;
+    public static final int MAX_SUPPORTED_COST = 31;
+    private static final int CALIBRATION_SAMPLES = 3;
+
+    private final int cost;
+
+    public AdaptiveBCryptPasswordEncoder(int cost) {
+        super(cost);
+        this.cost = cost;
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int stored = costOf(encodedPassword);
+        return stored > 0 && stored < cost;
+    }
+
+    /**
+     * "$2a$10$..." 형식에서 cost 추출, 형식이 다르면 -1
+     */
+    public static int costOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+            return -1;
+        }
+        int sep = encodedPassword.indexOf('$', 1);
+        if (sep < 0 || sep + 3 > encodedPassword.length()) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(sep + 1, sep + 3));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public static int calibrate(long targetMillis, int minCost, int maxCost) {
+        int floor = Math.max(MIN_SUPPORTED_COST, minCost);
+        int ceiling = Math.min(MAX_SUPPORTED_COST, maxCost);
+        String sample = "calibration-sample-password";
+
+        new BCryptPasswordEncoder(MIN_SUPPORTED_COST).encode(sample); // warm-up
+
+        int chosen = floor;
+        for (int c = MIN_SUPPORTED_COST; c <= ceiling; c++) {
+            // JIT/일시 부하 영향을 줄이려고 여러 번 재서 가장 빠른 값 사용
+            long elapsedMs = Long.MAX_VALUE;
+            for (int i = 0; i < CALIBRATION_SAMPLES; i++) {
+                long started = System.nanoTime();
+                new BCryptPasswordEncoder(c).encode(sample);
+                elapsedMs = Math.min(elapsedMs, (System.nanoTime() - started) / 1_000_000);
+            }
+            log.debug("[BCrypt calibration] cost={} took {} ms", c, elapsedMs);
+            if (elapsedMs > targetMillis) {
+                break;
+            }
+            chosen = Math.max(floor, c);
+            // cost +1 마다 시간이 2배 - 다음 단계가 목표를 넘을 게 확실하면 측정 생략
+            if (elapsedMs * 2 > targetMillis) {
+                break;
+            }
+        }
+        log.info("[BCrypt calibration] target={} ms -> cost={} (min={}, max={})", targetMillis, chosen, floor, ceiling);
+        return chosen;
+    }
+}
@@ -0,0 +1,97 @@
+package com.company.dotaadminbackend.config;
+
+import com.company.dotaadminbackend.application.AuthoritySnapshot;
+import com.company.dotaadminbackend.application.AuthoritySnapshotService;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JWT authority claim 압축 인코딩 + GrantedAuthority 목록 공유 캐시
+ * - compact 형식: authority id 를 비트 위치로 하는 BitSet 을 base64url 로 인코딩 ("ab" claim, 형식 버전 "av")
+ *   id 는 재사용되지 않으므로 authority 가 추가/삭제되어도 이미 발급된 토큰의 해석이 바뀌지 않는다
+ * - 같은 (role, authorities) 조합은 동일한 불변 GrantedAuthority 리스트를 공유 (요청마다 생성하지 않음)
+ */
+@Component
+public class AuthorityClaimCodec {
+
+    public static final int FORMAT_VERSION = 1;
+
+    // id 가 비정상적으로 크면 비트셋이 오히려 커지므로 문자열 claim 으로 되돌린다
+    private static final int MAX_COMPACT_ID = 4096;
+    private static final int MAX_SHARED_LISTS = 1024;
+
+    private final AuthoritySnapshotService authoritySnapshotService;
+    private final Map<GrantedKey, List<GrantedAuthority>> sharedLists = new ConcurrentHashMap<>();
+
+    public AuthorityClaimCodec(AuthoritySnapshotService authoritySnapshotService) {
+        this.authoritySnapshotService = authoritySnapshotService;
+    }
+
+    /**
+     * @return 인코딩된 claim 값, 카탈로그에 없는 권한이 있으면 null (호출자는 문자열 claim 사용)
+     */
+    public String encode(Collection<String> authorityNames) {
+        AuthoritySnapshot snapshot = authoritySnapshotService.current();
+        BitSet bits = new BitSet();
+        for (String name : authorityNames) {
+            Integer ordinal = snapshot.ordinalOf(name);
+            if (ordinal == null) {
+                return null;
+            }
+            long id = snapshot.authorityAt(ordinal).getId();
+            if (id < 0 || id > MAX_COMPACT_ID) {
+                return null;
+            }
+            bits.set((int) id);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bits.toByteArray());
+    }
+
+    public List<String> decode(String encoded) {
+        AuthoritySnapshot snapshot = authoritySnapshotService.current();
+        BitSet bits = BitSet.valueOf(Base64.getUrlDecoder().decode(encoded));
+        List<String> names = new ArrayList<>(bits.cardinality());
+        for (int id = bits.nextSetBit(0); id >= 0; id = bits.nextSetBit(id + 1)) {
+            Integer ordinal = snapshot.ordinalOf((long) id);
+            if (ordinal != null) { // 삭제된 authority 는 무시
+                names.add(snapshot.authorityAt(ordinal).getName());
+            }
+        }
+        return List.copyOf(names);
+    }
+
+    /**
+     * ROLE_{role} + authorities 로 구성된 공유 불변 리스트
+     */
+    public List<GrantedAuthority> grantedAuthorities(String role, List<String> authorityNames) {
+        GrantedKey key = new GrantedKey(role, authorityNames == null ? List.of() : authorityNames);
+        List<GrantedAuthority> cached = sharedLists.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        List<GrantedAuthority> built = new ArrayList<>(key.authorities().size() + 1);
+        if (role != null && !role.isEmpty()) {
+            built.add(new SimpleGrantedAuthority("ROLE_" + role));
+        }
+        for (String authority : key.authorities()) {
+            built.add(new SimpleGrantedAuthority(authority));
+        }
+        List<GrantedAuthority> shared = List.copyOf(built);
+        if (sharedLists.size() >= MAX_SHARED_LISTS) {
+            sharedLists.clear();
+        }
+        sharedLists.put(new GrantedKey(role, List.copyOf(key.authorities())), shared);
+        return shared;
+    }
+
+    private record GrantedKey(String role, List<String> authorities) {}
+}
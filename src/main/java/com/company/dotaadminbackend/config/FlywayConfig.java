@@ -0,0 +1,29 @@
+package com.company.dotaadminbackend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Flyway 적용 방식 (spring.flyway.enabled=true 인 프로필 - production)
+ * - 테이블은 Hibernate(ddl-auto) 가 만들어 왔으므로 V2~V{baseline-version} 은 적용하지 않고 그 이후 변경만 적용
+ * - 이력 테이블이 없으면 빈 DB 여도 먼저 baseline (baseline-on-migrate 는 빈 스키마에서는 baseline 하지 않아 V2 부터 실행됨)
+ * - baseline 이후 migration 은 테이블이 없으면 건너뛰도록 작성 (빈 DB 는 Flyway 다음에 Hibernate 가 테이블 생성)
+ */
+@Configuration
+@Slf4j
+public class FlywayConfig {
+
+    @Bean
+    public FlywayMigrationStrategy baselineThenMigrate() {
+        return flyway -> {
+            if (flyway.info().applied().length == 0) {
+                log.info("[Flyway] no schema history - baseline at version {}",
+                        flyway.getConfiguration().getBaselineVersion());
+                flyway.baseline();
+            }
+            flyway.migrate();
+        };
+    }
+}
@@ -9,24 +9,26 @@ import org.slf4j.LoggerFactory;
 import com.company.dotaadminbackend.common.dto.ErrorResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Collections;
+import java.util.Set;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+    private static final Set<String> REVOCATION_EXEMPT_URIS = Set.of("/api/auth/refresh", "/api/auth/logout");
     private final JwtUtil jwtUtil;
+    private final AccessTokenDenylist accessTokenDenylist;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, AccessTokenDenylist accessTokenDenylist) {
         this.jwtUtil = jwtUtil;
+        this.accessTokenDenylist = accessTokenDenylist;
     }
 
     @Override
@@ -50,58 +52,45 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             logger.debug("Extracted token: {}", token.substring(0, Math.min(token.length(), 20)) + "...");
             
             try {
-                // 토큰 만료 체크가 우선
-                if (jwtUtil.isTokenExpired(token)) {
+                // 🚀 1회 파싱으로 만료/유효성/토큰 정보를 함께 판정 (검증된 토큰은 캐시 재사용)
+                JwtUtil.DecodedToken decoded = jwtUtil.decode(token);
+                if (decoded.isExpired()) {
                     logger.warn("JWT token expired");
                     sendTokenErrorResponse(response, "TOKEN_EXPIRED", "Token expired");
                     return;
                 }
-                
-                // 토큰 유효성 체크
-                if (!jwtUtil.validateToken(token)) {
+                if (!decoded.isValid()) {
                     logger.warn("JWT token invalid");
                     response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                     return;
                 }
-                
-                // 🚀 성능 최적화: 토큰에서 모든 정보를 한번에 추출 (DB 조회 없음!)
-                try {
-                    JwtUtil.TokenInfo tokenInfo = jwtUtil.getTokenInfo(token);
-                    String email = tokenInfo.getEmail();
-                    String role = tokenInfo.getRole();
-                    List<String> authorities = tokenInfo.getAuthorities();
-                    
-                    logger.debug("JWT parsed successfully - email: {}, role: {}", email, role);
-                    
-                    // Spring Security 권한 목록 생성
-                    List<SimpleGrantedAuthority> grantedAuthorities = new ArrayList<>();
-                    
-                    // Role 권한 추가 (ROLE_ 접두사 포함)
-                    if (role != null && !role.isEmpty()) {
-                        grantedAuthorities.add(new SimpleGrantedAuthority("ROLE_" + role));
-                    }
-                    
-                    // Authority 권한들 추가 (토큰에서 가져온 것)
-                    if (authorities != null && !authorities.isEmpty()) {
-                        for (String authority : authorities) {
-                            grantedAuthorities.add(new SimpleGrantedAuthority(authority));
-                        }
-                    }
-                    
-                    // SecurityContext에 인증 정보 설정
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        email, null, grantedAuthorities
-                    );
-                    
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                    logger.debug("Authentication set from token for user: {} with role: {} and {} authorities", 
-                               email, role, grantedAuthorities.size());
-                    
-                } catch (Exception e) {
-                    logger.error("Error parsing JWT token: {}", e.getMessage());
-                    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+
+                JwtUtil.TokenInfo tokenInfo = decoded.getTokenInfo();
+
+                // 로그아웃/회전으로 무효화된 토큰 (대부분은 bloom filter 에서 즉시 통과)
+                // refresh/logout 은 무효화된 토큰이 실려 와도 진행되어야 하므로 제외
+                if (!REVOCATION_EXEMPT_URIS.contains(uri) && accessTokenDenylist.isRevoked(tokenInfo.getJti())) {
+                    logger.warn("JWT token revoked");
+                    sendTokenErrorResponse(response, "TOKEN_REVOKED", "Token revoked");
                     return;
                 }
+
+                String email = tokenInfo.getEmail();
+                String role = tokenInfo.getRole();
+
+                logger.debug("JWT parsed successfully - email: {}, role: {}", email, role);
+
+                // Spring Security 권한 목록 - (role, authorities) 조합별로 공유되는 불변 리스트 (요청마다 생성하지 않음)
+                List<GrantedAuthority> grantedAuthorities = tokenInfo.getGrantedAuthorities();
+
+                // SecurityContext에 인증 정보 설정
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    email, null, grantedAuthorities
+                );
+
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+                logger.debug("Authentication set from token for user: {} with role: {} and {} authorities",
+                           email, role, grantedAuthorities.size());
             } catch (Exception e) {
                 logger.error("Error processing JWT token: {}", e.getMessage());
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
@@ -0,0 +1,137 @@
+package com.company.dotaadminbackend.config;
+
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JWT 서명 키 링 (kid 헤더로 키 선택)
+ * - 모든 키는 기동 시 1회 SecretKey 로 변환해 보관 (호출마다 키 파생 없음)
+ * - 서명: activate-at 이 지난 키 중 가장 최근 키
+ * - 검증: kid 로 O(1) 조회, expire-at 이 지나지 않은 키만 허용
+ * - 무중단 교체: 새 키를 미래 activate-at 으로 먼저 배포 → 활성화 후 기존 키는 expire-at 까지 검증에만 사용
+ *
+ * 설정 예:
+ *   app.jwt.keys[0].kid=2024-01, app.jwt.keys[0].secret=..., app.jwt.keys[0].expire-at=2024-03-01T00:00:00Z
+ *   app.jwt.keys[1].kid=2024-02, app.jwt.keys[1].secret=..., app.jwt.keys[1].activate-at=2024-02-01T00:00:00Z
+ * keys 가 비어 있으면 app.jwt.secret 하나를 kid "default" 로 사용 (단일 키 모드).
+ * keys 를 지정하면 app.jwt.secret 은 사용하지 않음 - 기존 secret 을 계속 검증하려면 keys 에 kid "default" 항목을
+ * expire-at 과 함께 명시 (암묵 등록 시 교체 후에도 옛 secret 이 만료 없이 유효하게 남음).
+ * kid 헤더가 없는 (키 링 도입 이전) 토큰은 kid "default" 키로 검증.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.jwt")
+public class JwtKeyRing {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    public static final String DEFAULT_KID = "default";
+
+    // binding 대상
+    private String secret;
+    private List<KeyProperties> keys = new ArrayList<>();
+
+    private Map<String, KeyEntry> byKid = Map.of();
+    private List<KeyEntry> signingOrder = List.of(); // activateAt 내림차순
+    private KeyEntry legacyKey;
+
+    @PostConstruct
+    void load() {
+        Map<String, KeyEntry> loaded = new HashMap<>();
+        for (KeyProperties k : keys) {
+            if (k.getKid() == null || k.getSecret() == null) {
+                throw new IllegalStateException("app.jwt.keys entries require both kid and secret");
+            }
+            KeyEntry entry = new KeyEntry(k.getKid(), Keys.hmacShaKeyFor(k.getSecret().getBytes()),
+                    k.getActivateAt() != null ? k.getActivateAt() : Instant.EPOCH, k.getExpireAt());
+            if (loaded.put(entry.kid(), entry) != null) {
+                throw new IllegalStateException("Duplicate JWT key id: " + entry.kid());
+            }
+        }
+        if (keys.isEmpty() && secret != null && !secret.isBlank()) {
+            loaded.put(DEFAULT_KID,
+                    new KeyEntry(DEFAULT_KID, Keys.hmacShaKeyFor(secret.getBytes()), Instant.EPOCH, null));
+        }
+        // keys 에 kid "default" 를 직접 두면 expire-at 으로 kid 없는 구 토큰의 검증도 종료할 수 있다
+        this.legacyKey = loaded.get(DEFAULT_KID);
+        if (loaded.isEmpty()) {
+            throw new IllegalStateException("No JWT signing key configured (app.jwt.secret or app.jwt.keys)");
+        }
+        this.byKid = Map.copyOf(loaded);
+        this.signingOrder = loaded.values().stream()
+                .sorted(Comparator.comparing(KeyEntry::activateAt).reversed())
+                .toList();
+        log.info("[JwtKeyRing] Loaded {} key(s): {}", byKid.size(), byKid.keySet());
+    }
+
+    public KeyEntry signingKey() {
+        Instant now = Instant.now();
+        for (KeyEntry entry : signingOrder) {
+            if (!entry.activateAt().isAfter(now) && entry.isUsableAt(now)) {
+                return entry;
+            }
+        }
+        throw new IllegalStateException("No active JWT signing key");
+    }
+
+    /**
+     * @param kid 토큰 헤더의 kid (없으면 null)
+     * @return 검증 키, 없거나 만료된 키면 null
+     */
+    public SecretKey verificationKey(String kid) {
+        KeyEntry entry = usableEntry(kid);
+        return entry != null ? entry.secretKey() : null;
+    }
+
+    /**
+     * kid 키가 아직 검증에 쓰일 수 있는지 (VerifiedTokenCache 적중 시 재확인용)
+     */
+    public boolean isUsable(String kid) {
+        return usableEntry(kid) != null;
+    }
+
+    private KeyEntry usableEntry(String kid) {
+        KeyEntry entry = kid == null ? legacyKey : byKid.get(kid);
+        if (entry == null || !entry.isUsableAt(Instant.now())) {
+            return null;
+        }
+        return entry;
+    }
+
+    public record KeyEntry(String kid, SecretKey secretKey, Instant activateAt, Instant expireAt) {
+        boolean isUsableAt(Instant now) {
+            return expireAt == null || expireAt.isAfter(now);
+        }
+    }
+
+    public void setSecret(String secret) { this.secret = secret; }
+    public List<KeyProperties> getKeys() { return keys; }
+    public void setKeys(List<KeyProperties> keys) { this.keys = keys; }
+
+    public static class KeyProperties {
+        private String kid;
+        private String secret;
+        private Instant activateAt;
+        private Instant expireAt;
+
+        public String getKid() { return kid; }
+        public void setKid(String kid) { this.kid = kid; }
+        public String getSecret() { return secret; }
+        public void setSecret(String secret) { this.secret = secret; }
+        public Instant getActivateAt() { return activateAt; }
+        public void setActivateAt(Instant activateAt) { this.activateAt = activateAt; }
+        public Instant getExpireAt() { return expireAt; }
+        public void setExpireAt(Instant expireAt) { this.expireAt = expireAt; }
+    }
+}
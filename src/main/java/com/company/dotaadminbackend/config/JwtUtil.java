@@ -1,25 +1,61 @@
 package com.company.dotaadminbackend.config;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
+import java.security.Key;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
 
-    @Value("${app.jwt.secret}")
-    private String secret;
-
     @Value("${app.jwt.expiration}")
     private Long expiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    @Value("${app.jwt.cache.max-size:10000}")
+    private int cacheMaxSize;
+
+    // true: authorities 를 문자열 목록 대신 비트셋 claim("ab") 으로 발급 (검증은 두 형식 모두 지원)
+    @Value("${app.jwt.compact-authorities:false}")
+    private boolean compactAuthorities;
+
+    private final AuthorityClaimCodec authorityClaimCodec;
+    private final JwtKeyRing keyRing;
+
+    // 파서는 기동 시 1회만 생성 (JwtParser 는 thread-safe), 검증 키는 kid 헤더로 키 링에서 조회
+    private JwtParser parser;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    public JwtUtil(AuthorityClaimCodec authorityClaimCodec, JwtKeyRing keyRing) {
+        this.authorityClaimCodec = authorityClaimCodec;
+        this.keyRing = keyRing;
+    }
+
+    @PostConstruct
+    void init() {
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return keyRing.verificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+        this.verifiedTokenCache = new VerifiedTokenCache(cacheMaxSize);
+    }
+
+    // 현재 서명 키로 서명 (kid 헤더 포함)
+    private String sign(JwtBuilder builder) {
+        JwtKeyRing.KeyEntry signingKey = keyRing.signingKey();
+        return builder
+                .header().keyId(signingKey.kid()).and()
+                .signWith(signingKey.secretKey())
+                .compact();
     }
 
     // 새로운 토큰 생성 메서드 - 사용자 정보와 권한들 모두 포함
@@ -27,14 +63,20 @@ public class JwtUtil {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
+                .id(UUID.randomUUID().toString()) // jti - 강제 무효화(AccessTokenDenylist) 키
                 .subject(email)
-                .claim("role", roleName)
-                .claim("authorities", authorities)  // 모든 권한 정보를 토큰에 포함
+                .claim("role", roleName);
+        String compact = compactAuthorities ? authorityClaimCodec.encode(authorities) : null;
+        if (compact != null) {
+            builder.claim("av", AuthorityClaimCodec.FORMAT_VERSION)
+                   .claim("ab", compact);  // 권한 비트셋 (authority id 기반)
+        } else {
+            builder.claim("authorities", authorities);  // 모든 권한 정보를 토큰에 포함
+        }
+        return sign(builder
                 .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(getSigningKey())
-                .compact();
+                .expiration(expiryDate));
     }
     
     // 호환성을 위한 기존 메서드 (권한 정보 없이)
@@ -42,13 +84,12 @@ public class JwtUtil {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
-        return Jwts.builder()
+        return sign(Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(email)
                 .claim("role", roleName)
                 .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(getSigningKey())
-                .compact();
+                .expiration(expiryDate));
     }
     
     // 간단한 토큰 생성 메서드 (role 없이 email만)
@@ -56,80 +97,145 @@ public class JwtUtil {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
-        return Jwts.builder()
+        return sign(Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(email)
                 .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(getSigningKey())
-                .compact();
+                .expiration(expiryDate));
     }
 
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
+        Claims claims = parser.parseSignedClaims(token)
                 .getPayload();
         return claims.getSubject();
     }
 
     public String getRoleFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
+        Claims claims = parser.parseSignedClaims(token)
                 .getPayload();
         return claims.get("role", String.class);
     }
 
-    @SuppressWarnings("unchecked")
     public List<String> getAuthoritiesFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return (List<String>) claims.get("authorities");
+        return getTokenInfo(token).getAuthorities();
     }
     
     // 토큰에서 모든 정보를 한번에 추출하는 메서드 (성능 최적화)
     public TokenInfo getTokenInfo(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
+        Claims claims = parser.parseSignedClaims(token)
                 .getPayload();
-        
+        return toTokenInfo(claims);
+    }
+
+    /**
+     * 1회 파싱으로 만료/유효성/토큰 정보를 모두 판정.
+     * 검증에 성공한 토큰은 VerifiedTokenCache 에 보관되어 같은 토큰의 재요청은 서명 검증을 생략.
+     */
+    public DecodedToken decode(String token) {
+        if (token == null || token.isBlank()) {
+            return DecodedToken.INVALID;
+        }
+        long now = System.currentTimeMillis();
+        DecodedToken cached = verifiedTokenCache.get(token, now);
+        if (cached != null) {
+            if (keyRing.isUsable(cached.getKid())) {
+                return cached;
+            }
+            // 서명 키가 만료됨 - 같은 키의 캐시 항목을 모두 버리고 아래 검증에서 거부
+            verifiedTokenCache.removeKeyId(cached.getKid());
+        }
+        try {
+            Jws<Claims> jws = parser.parseSignedClaims(token);
+            Claims claims = jws.getPayload();
+            Date exp = claims.getExpiration();
+            if (exp == null) {
+                return DecodedToken.INVALID;
+            }
+            DecodedToken decoded = new DecodedToken(TokenStatus.VALID, toTokenInfo(claims), exp.getTime(),
+                    jws.getHeader().getKeyId());
+            verifiedTokenCache.put(token, decoded);
+            return decoded;
+        } catch (ExpiredJwtException e) {
+            return DecodedToken.EXPIRED;
+        } catch (JwtException | IllegalArgumentException e) {
+            return DecodedToken.INVALID;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private TokenInfo toTokenInfo(Claims claims) {
+        String role = claims.get("role", String.class);
+        String compact = claims.get("ab", String.class);
+        List<String> authorities = compact != null
+                ? authorityClaimCodec.decode(compact)
+                : (List<String>) claims.get("authorities");
         return new TokenInfo(
             claims.getSubject(), // email
-            claims.get("role", String.class), // role
-            (List<String>) claims.get("authorities") // authorities
+            role, // role
+            authorities, // authorities
+            authorityClaimCodec.grantedAuthorities(role, authorities),
+            claims.getId() // jti
         );
     }
+
+    public enum TokenStatus { VALID, EXPIRED, INVALID }
+
+    // decode() 결과 - VALID 인 경우에만 tokenInfo 존재
+    public static class DecodedToken {
+        static final DecodedToken EXPIRED = new DecodedToken(TokenStatus.EXPIRED, null, 0L, null);
+        static final DecodedToken INVALID = new DecodedToken(TokenStatus.INVALID, null, 0L, null);
+
+        private final TokenStatus status;
+        private final TokenInfo tokenInfo;
+        private final long expiresAtMillis;
+        private final String kid; // 서명 키 id (kid 헤더 없는 구 토큰은 null)
+
+        public DecodedToken(TokenStatus status, TokenInfo tokenInfo, long expiresAtMillis, String kid) {
+            this.status = status;
+            this.tokenInfo = tokenInfo;
+            this.expiresAtMillis = expiresAtMillis;
+            this.kid = kid;
+        }
+
+        public TokenStatus getStatus() { return status; }
+        public TokenInfo getTokenInfo() { return tokenInfo; }
+        public long getExpiresAtMillis() { return expiresAtMillis; }
+        public String getKid() { return kid; }
+        public boolean isValid() { return status == TokenStatus.VALID; }
+        public boolean isExpired() { return status == TokenStatus.EXPIRED; }
+    }
     
     // 토큰 정보를 담는 내부 클래스
     public static class TokenInfo {
         private final String email;
         private final String role;
         private final List<String> authorities;
+        private final List<GrantedAuthority> grantedAuthorities; // 공유 불변 리스트 (ROLE_ 포함)
+        private final String jti;
         
         public TokenInfo(String email, String role, List<String> authorities) {
+            this(email, role, authorities, null, null);
+        }
+
+        public TokenInfo(String email, String role, List<String> authorities,
+                         List<GrantedAuthority> grantedAuthorities, String jti) {
             this.email = email;
             this.role = role;
             this.authorities = authorities;
+            this.grantedAuthorities = grantedAuthorities;
+            this.jti = jti;
         }
         
         public String getEmail() { return email; }
         public String getRole() { return role; }
         public List<String> getAuthorities() { return authorities; }
+        public List<GrantedAuthority> getGrantedAuthorities() { return grantedAuthorities; }
+        public String getJti() { return jti; }
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
+            parser.parseSignedClaims(token);
             return true;
         } catch (ExpiredJwtException e) {
             System.out.println("JWT token expired: " + e.getMessage());
@@ -142,10 +248,7 @@ public class JwtUtil {
 
     public boolean isTokenExpired(String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
+            Claims claims = parser.parseSignedClaims(token)
                     .getPayload();
             return claims.getExpiration().before(new Date());
         } catch (ExpiredJwtException e) {
@@ -0,0 +1,25 @@
+package com.company.dotaadminbackend.config;
+
+import com.company.dotaadminbackend.application.SessionActivityTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 클라이언트 → 서버 STOMP 프레임(heartbeat 포함)을 세션 활동으로 기록
+ */
+@Component
+@RequiredArgsConstructor
+public class PresenceActivityChannelInterceptor implements ChannelInterceptor {
+
+    private final SessionActivityTracker sessionActivityTracker;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        sessionActivityTracker.touch(SimpMessageHeaderAccessor.getSessionId(message.getHeaders()));
+        return message;
+    }
+}
@@ -0,0 +1,300 @@
+package com.company.dotaadminbackend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * simple broker 노드 간 중계 (Redis pub/sub) - 외부 STOMP 브로커 없이 WebSocket 노드 수평 확장
+ * - brokerChannel 인터셉터: 이 노드에서 발행된 /topic 메시지를 로컬 구독자에게 그대로 전달하면서 송신 큐에 복사
+ * - 송신 스레드가 window-ms 동안(또는 max-batch-size 까지) 모아 1개 pub/sub 메시지로 발행
+ *   {origin, seq, messages: [{destination, contentType, payload(base64)}]}
+ * - 수신: 자기 origin 배치는 버리고 (pub/sub 은 발행자에게도 전달됨), 다른 노드 배치는 순서대로 brokerChannel 에 재주입
+ *   재주입 메시지에는 relay-origin 헤더를 붙여 다시 중계되지 않게 한다
+ * - origin = nodeId + 기동마다 새 임의값, origin 별 seq 가 이전 이하이면 중복으로 버림
+ * - presence 는 기본 exclude
+ *   /topic/presence: 각 노드가 Redis 변경 스트림에서 모든 노드의 변경을 직접 발행 (중계하면 같은 seq 구간이 중복 도착)
+ *   /topic/challenges/{id}/presence: 노드별 시청자 목록(부분 목록)이라 중계하면 노드마다 다른 목록이 번갈아 도착
+ * - 송신 큐가 max-pending 을 넘거나 Redis 발행이 실패하면 버림 (로컬 전달은 영향 없음)
+ * - 메트릭: websocket.relay.messages / batches (direction 태그), websocket.relay.dropped (reason 태그), websocket.relay.pending
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.websocket.relay", name = "enabled", havingValue = "true")
+@Slf4j
+public class RedisBrokerRelay implements ChannelInterceptor, MessageListener {
+
+    public static final String ORIGIN_HEADER = "relay-origin";
+
+    private final StringRedisTemplate redis;
+    private final MessageChannel brokerChannel;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final String[] destinations;
+    private final String[] excludes;
+    private final long windowMs;
+    private final int maxBatchSize;
+    private final String origin;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final BlockingQueue<RelayMessage> outbound;
+    // origin -> 마지막으로 받은 배치 seq (수신 스레드 1개에서만 갱신)
+    private final Map<String, Long> lastReceivedSeq = new ConcurrentHashMap<>();
+    private long publishedSeq;
+
+    private final Counter messagesOut;
+    private final Counter messagesIn;
+    private final Counter batchesOut;
+    private final Counter batchesIn;
+    private final Counter droppedQueueFull;
+    private final Counter droppedPublishFailed;
+    private final Counter droppedDuplicate;
+
+    private RedisMessageListenerContainer listenerContainer;
+    private ExecutorService receiver;
+    private Thread publisher;
+    private volatile boolean running;
+
+    public RedisBrokerRelay(StringRedisTemplate redis,
+            @Lazy @Qualifier("brokerChannel") MessageChannel brokerChannel,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${app.websocket.relay.channel:ws:relay}") String channel,
+            @Value("${app.websocket.relay.destinations:/topic/**}") String[] destinations,
+            @Value("${app.websocket.relay.exclude:/topic/presence,/topic/challenges/*/presence}") String[] excludes,
+            @Value("${app.websocket.relay.window-ms:5}") long windowMs,
+            @Value("${app.websocket.relay.max-batch-size:256}") int maxBatchSize,
+            @Value("${app.websocket.relay.max-pending:100000}") int maxPending,
+            @Value("${app.presence.redis.node-id:}") String nodeId) {
+        this.redis = redis;
+        this.brokerChannel = brokerChannel;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+        this.destinations = destinations;
+        this.excludes = excludes;
+        this.windowMs = Math.max(0, windowMs);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.outbound = new LinkedBlockingQueue<>(maxPending);
+        this.origin = (nodeId == null || nodeId.isBlank() ? hostName() : nodeId)
+                + "#" + UUID.randomUUID().toString().substring(0, 8);
+
+        this.messagesOut = relayCounter(meterRegistry, "websocket.relay.messages", "direction", "out");
+        this.messagesIn = relayCounter(meterRegistry, "websocket.relay.messages", "direction", "in");
+        this.batchesOut = relayCounter(meterRegistry, "websocket.relay.batches", "direction", "out");
+        this.batchesIn = relayCounter(meterRegistry, "websocket.relay.batches", "direction", "in");
+        this.droppedQueueFull = relayCounter(meterRegistry, "websocket.relay.dropped", "reason", "queue_full");
+        this.droppedPublishFailed = relayCounter(meterRegistry, "websocket.relay.dropped", "reason", "publish_failed");
+        this.droppedDuplicate = relayCounter(meterRegistry, "websocket.relay.dropped", "reason", "duplicate");
+        Gauge.builder("websocket.relay.pending", outbound, BlockingQueue::size)
+                .description("Topic messages waiting to be published to the relay channel")
+                .register(meterRegistry);
+    }
+
+    private static Counter relayCounter(MeterRegistry registry, String name, String tag, String value) {
+        return Counter.builder(name).tag(tag, value).register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        receiver = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("ws-relay-receive-"));
+        listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(redis.getRequiredConnectionFactory());
+        // 배치 순서 = 발행 순서로 재주입 (presence seq 순서 유지)
+        listenerContainer.setTaskExecutor(receiver);
+        listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+
+        publisher = new CustomizableThreadFactory("ws-relay-publish-").newThread(this::publishLoop);
+        publisher.setDaemon(true);
+        publisher.start();
+        log.info("[RedisBrokerRelay] origin={} channel={} destinations={} exclude={}",
+                origin, channel, List.of(destinations), List.of(excludes));
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        running = false;
+        publisher.interrupt();
+        listenerContainer.stop();
+        listenerContainer.destroy();
+        receiver.shutdown();
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    // ---- brokerChannel 인터셉터 (송신) ----
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel messageChannel) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        if (accessor.getMessageType() != SimpMessageType.MESSAGE || accessor.getHeader(ORIGIN_HEADER) != null) {
+            return message;
+        }
+        String destination = accessor.getDestination();
+        if (!isRelayed(destination)) {
+            return message;
+        }
+        byte[] payload;
+        if (message.getPayload() instanceof byte[] bytes) {
+            payload = bytes;
+        } else if (message.getPayload() instanceof String text) {
+            payload = text.getBytes(StandardCharsets.UTF_8);
+        } else {
+            log.debug("Skipping relay of non-binary payload to {}", destination);
+            return message;
+        }
+        MimeType contentType = accessor.getContentType();
+        RelayMessage relayMessage = new RelayMessage(destination, contentType != null ? contentType.toString() : null, payload);
+        if (!outbound.offer(relayMessage)) {
+            droppedQueueFull.increment();
+        }
+        return message;
+    }
+
+    boolean isRelayed(String destination) {
+        if (destination == null) {
+            return false;
+        }
+        for (String exclude : excludes) {
+            if (pathMatcher.match(exclude, destination)) {
+                return false;
+            }
+        }
+        for (String pattern : destinations) {
+            if (pathMatcher.match(pattern, destination)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void publishLoop() {
+        List<RelayMessage> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                RelayMessage first = outbound.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // 첫 메시지 이후 window 동안 더 모은다 (이미 쌓여 있으면 바로 채움)
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMs);
+                outbound.drainTo(batch, maxBatchSize - batch.size());
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    RelayMessage next = remaining > 0 ? outbound.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    outbound.drainTo(batch, maxBatchSize - batch.size());
+                }
+                publish(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void publish(List<RelayMessage> batch) {
+        try {
+            String json = objectMapper.writeValueAsString(new RelayBatch(origin, ++publishedSeq, batch));
+            redis.convertAndSend(channel, json);
+            batchesOut.increment();
+            messagesOut.increment(batch.size());
+        } catch (Exception e) {
+            droppedPublishFailed.increment(batch.size());
+            log.warn("[RedisBrokerRelay] publish failed ({} messages): {}", batch.size(), e.getMessage());
+        }
+    }
+
+    // ---- Redis 수신 ----
+
+    @Override
+    public void onMessage(org.springframework.data.redis.connection.Message redisMessage, byte[] pattern) {
+        RelayBatch batch;
+        try {
+            batch = objectMapper.readValue(redisMessage.getBody(), RelayBatch.class);
+        } catch (Exception e) {
+            log.warn("[RedisBrokerRelay] unreadable relay message: {}", e.getMessage());
+            return;
+        }
+        if (origin.equals(batch.origin())) {
+            return;
+        }
+        Long last = lastReceivedSeq.get(batch.origin());
+        if (last != null && batch.seq() <= last) {
+            droppedDuplicate.increment(batch.messages().size());
+            return;
+        }
+        lastReceivedSeq.put(batch.origin(), batch.seq());
+        batchesIn.increment();
+        for (RelayMessage relayed : batch.messages()) {
+            brokerChannel.send(toBrokerMessage(batch.origin(), relayed));
+            messagesIn.increment();
+        }
+    }
+
+    private static Message<byte[]> toBrokerMessage(String origin, RelayMessage relayed) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(relayed.destination());
+        if (relayed.contentType() != null) {
+            accessor.setContentType(MimeTypeUtils.parseMimeType(relayed.contentType()));
+        }
+        accessor.setHeader(ORIGIN_HEADER, origin);
+        return MessageBuilder.createMessage(relayed.payload(), accessor.getMessageHeaders());
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+
+    record RelayMessage(String destination, String contentType, byte[] payload) {}
+
+    record RelayBatch(String origin, long seq, List<RelayMessage> messages) {}
+}
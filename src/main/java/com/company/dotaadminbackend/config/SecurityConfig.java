@@ -1,15 +1,17 @@
 package com.company.dotaadminbackend.config;
 
 import java.util.List;
+import java.util.Map;
 import org.springframework.http.HttpMethod;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -44,6 +46,8 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                 .requestMatchers("/ws/**", "/ws-sockjs/**").permitAll() // WebSocket 엔드포인트 허용
                 .requestMatchers("/api/auth/**").permitAll() // 인증 API 허용
+                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll() // Docker HEALTHCHECK
+                .requestMatchers("/actuator/**").hasRole("ADMIN") // metrics, slowconsumers 등 운영 엔드포인트
                 .anyRequest().permitAll())
             .exceptionHandling(exceptions -> exceptions
                 .accessDeniedHandler(accessDeniedHandler)
@@ -94,8 +98,19 @@ public class SecurityConfig {
         return source;
     }
 
+    // 저장 형식: {bcrypt}$2a$<cost>$... (알고리즘 id + cost 기록)
+    // 접두사 없는 기존 해시도 검증되며, 로그인 성공 시 현재 cost 로 재해시됨 (UserService.validatePasswordAndRehash)
+    // cost 는 설정값 고정 (클러스터 전체 동일), 0 일 때만 노드별 기동 시 보정
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.auth.hashing.cost:10}") int fixedCost,
+            @Value("${app.auth.hashing.target-ms:250}") long targetMs,
+            @Value("${app.auth.hashing.min-cost:10}") int minCost,
+            @Value("${app.auth.hashing.max-cost:14}") int maxCost) {
+        int cost = fixedCost > 0 ? fixedCost : AdaptiveBCryptPasswordEncoder.calibrate(targetMs, minCost, maxCost);
+        AdaptiveBCryptPasswordEncoder bcrypt = new AdaptiveBCryptPasswordEncoder(cost);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 }
@@ -0,0 +1,27 @@
+package com.company.dotaadminbackend.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GET /actuator/slowconsumers - 미전송 메시지가 많은 WebSocket 세션 상위 목록
+ */
+@Component
+@Endpoint(id = "slowconsumers")
+@RequiredArgsConstructor
+public class SlowConsumerEndpoint {
+
+    private static final int LIMIT = 20;
+
+    private final SlowConsumerGuard slowConsumerGuard;
+
+    @ReadOperation
+    public List<Map<String, Object>> worstOffenders() {
+        return slowConsumerGuard.worstOffenders(LIMIT);
+    }
+}
@@ -0,0 +1,295 @@
+package com.company.dotaadminbackend.config;
+
+import com.company.dotaadminbackend.application.ChallengeRoomPresence;
+import com.company.dotaadminbackend.application.PresencePublisher;
+import com.company.dotaadminbackend.application.PresenceStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 느린 구독자(slow consumer) 감지 + 세션별 outbound backpressure
+ * - 세션별 미전송 메시지 수 = outbound 채널에 들어온 수 - 실제 WebSocket 으로 보낸 수
+ *   (executor 대기 + 세션 송신 버퍼 + 전송 중인 메시지 모두 포함)
+ * - high-water 이상이면 해당 세션에 한해
+ *   - /topic/presence delta 는 버리고, 밀린 것이 low-water 이하로 빠지면 PRESENCE_RESET 1개로 대체
+ *     (클라이언트는 RESET 을 받으면 스냅샷을 다시 받는다)
+ *   - 챌린지 room presence 는 목록 전체 메시지라 destination 별 마지막 1개만 보관했다가 전송
+ *   - 그 밖의 메시지는 그대로 전송
+ * - high-water 이상 상태가 max-over-ms 를 넘기면 세션 종료 (SESSION_NOT_RELIABLE)
+ * - 메트릭: websocket.slow_consumer.sessions, websocket.slow_consumer.worst_pending,
+ *          websocket.slow_consumer.dropped (reason 태그), websocket.slow_consumer.disconnected
+ *   세션별 상위 목록은 actuator slowconsumers 엔드포인트
+ */
+@Component
+@Slf4j
+public class SlowConsumerGuard implements ChannelInterceptor, WebSocketHandlerDecoratorFactory {
+
+    private final MessageChannel clientOutboundChannel;
+    private final PresenceStore presenceService;
+    private final int highWater;
+    private final int lowWater;
+    private final long maxOverMs;
+
+    private final Map<String, SessionState> sessions = new ConcurrentHashMap<>();
+    private final Set<SessionState> overSessions = ConcurrentHashMap.newKeySet();
+
+    private final Counter coalescedCounter;
+    private final Counter resyncCounter;
+    private final Counter disconnectedCounter;
+
+    public SlowConsumerGuard(@Lazy @Qualifier("clientOutboundChannel") MessageChannel clientOutboundChannel,
+            PresenceStore presenceService, MeterRegistry meterRegistry,
+            @Value("${app.websocket.slow-consumer.high-water:256}") int highWater,
+            @Value("${app.websocket.slow-consumer.low-water:32}") int lowWater,
+            @Value("${app.websocket.slow-consumer.max-over-ms:15000}") long maxOverMs) {
+        this.clientOutboundChannel = clientOutboundChannel;
+        this.presenceService = presenceService;
+        this.highWater = highWater;
+        this.lowWater = Math.min(lowWater, highWater);
+        this.maxOverMs = maxOverMs;
+
+        this.coalescedCounter = Counter.builder("websocket.slow_consumer.dropped")
+                .tag("reason", "coalesced")
+                .description("Room presence messages replaced by a newer one for a slow session")
+                .register(meterRegistry);
+        this.resyncCounter = Counter.builder("websocket.slow_consumer.dropped")
+                .tag("reason", "resync")
+                .description("Presence deltas dropped for a slow session (replaced by PRESENCE_RESET)")
+                .register(meterRegistry);
+        this.disconnectedCounter = Counter.builder("websocket.slow_consumer.disconnected")
+                .description("Sessions closed for staying above the outbound high-water mark")
+                .register(meterRegistry);
+        Gauge.builder("websocket.slow_consumer.sessions", overSessions, Set::size)
+                .description("Sessions currently above the outbound high-water mark")
+                .register(meterRegistry);
+        Gauge.builder("websocket.slow_consumer.worst_pending", this, SlowConsumerGuard::worstPending)
+                .description("Largest outbound backlog (messages) among slow sessions")
+                .register(meterRegistry);
+    }
+
+    // ---- outbound 채널 인터셉터 ----
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        SessionState state = accessor.getSessionId() == null ? null : sessions.get(accessor.getSessionId());
+        if (state == null) {
+            return message;
+        }
+        int pending = state.pending.get();
+        if (pending >= highWater && accessor.getMessageType() == SimpMessageType.MESSAGE) {
+            markOver(state);
+            String destination = accessor.getDestination();
+            if (PresencePublisher.TOPIC.equals(destination)) {
+                synchronized (state) {
+                    state.stash.put(destination, message);
+                    state.resyncPresence = true;
+                }
+                state.dropped.incrementAndGet();
+                resyncCounter.increment();
+                return null;
+            }
+            if (ChallengeRoomPresence.roomOf(destination) != null) {
+                synchronized (state) {
+                    state.stash.put(destination, message);
+                }
+                state.dropped.incrementAndGet();
+                coalescedCounter.increment();
+                return null;
+            }
+        }
+        state.pending.incrementAndGet();
+        return message;
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        if (sent && ex == null) {
+            return;
+        }
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        SessionState state = sessionId == null ? null : sessions.get(sessionId);
+        if (state != null) {
+            state.pending.decrementAndGet();
+        }
+    }
+
+    // ---- WebSocket 세션 추적 ----
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                SessionState state = new SessionState(session);
+                sessions.put(session.getId(), state);
+                super.afterConnectionEstablished(new CountingSession(session, state));
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                SessionState state = sessions.remove(session.getId());
+                if (state != null) {
+                    overSessions.remove(state);
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    /**
+     * 실제 전송 완료 시점 - 미전송 수 감소, low-water 이하로 빠지면 보관해 둔 메시지 전송
+     */
+    private void onSent(SessionState state) {
+        // outbound 채널을 거치지 않고 보낸 프레임(ERROR 등)도 있으므로 0 아래로 내려가지 않게
+        int pending = state.pending.updateAndGet(v -> v > 0 ? v - 1 : 0);
+        if (pending > lowWater || state.overSince == 0) {
+            return;
+        }
+        List<Message<?>> flush;
+        synchronized (state) {
+            flush = new ArrayList<>(state.stash.size());
+            for (Map.Entry<String, Message<?>> e : state.stash.entrySet()) {
+                if (e.getKey().equals(PresencePublisher.TOPIC) && state.resyncPresence) {
+                    flush.add(presenceReset(e.getValue()));
+                } else {
+                    flush.add(e.getValue());
+                }
+            }
+            state.stash.clear();
+            state.resyncPresence = false;
+            state.overSince = 0;
+        }
+        overSessions.remove(state);
+        for (Message<?> message : flush) {
+            clientOutboundChannel.send(message);
+        }
+        log.debug("Slow session {} drained, resent {} coalesced messages", state.session.getId(), flush.size());
+    }
+
+    private void markOver(SessionState state) {
+        long now = System.currentTimeMillis();
+        if (state.overSince == 0) {
+            state.overSince = now;
+            overSessions.add(state);
+            return;
+        }
+        if (now - state.overSince > maxOverMs && state.closing.compareAndSet(false, true)) {
+            log.warn("Closing slow WebSocket session {} ({} messages pending for {} ms)",
+                    state.session.getId(), state.pending.get(), now - state.overSince);
+            disconnectedCounter.increment();
+            try {
+                state.session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException e) {
+                log.debug("Failed to close slow session {}: {}", state.session.getId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 버린 presence delta 대신 보낼 RESET - 원래 메시지의 세션/구독 헤더를 그대로 사용
+     */
+    private Message<byte[]> presenceReset(Message<?> template) {
+        String json = "{\"type\":\"PRESENCE_RESET\",\"seq\":" + presenceService.currentSequence()
+                + ",\"timestamp\":" + System.currentTimeMillis() + "}";
+        return MessageBuilder.withPayload(json.getBytes(StandardCharsets.UTF_8))
+                .copyHeaders(template.getHeaders())
+                .build();
+    }
+
+    private double worstPending() {
+        int worst = 0;
+        for (SessionState state : overSessions) {
+            worst = Math.max(worst, state.pending.get());
+        }
+        return worst;
+    }
+
+    /**
+     * 미전송 메시지가 많은 순서로 상위 세션 (사용자 식별 정보는 담지 않음 - sessionId 로 로그와 대조)
+     */
+    public List<Map<String, Object>> worstOffenders(int limit) {
+        long now = System.currentTimeMillis();
+        return sessions.values().stream()
+                .filter(state -> state.pending.get() > 0 || state.dropped.get() > 0)
+                .sorted(Comparator.comparingInt((SessionState state) -> state.pending.get()).reversed())
+                .limit(limit)
+                .map(state -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("sessionId", state.session.getId());
+                    row.put("pending", state.pending.get());
+                    row.put("dropped", state.dropped.get());
+                    row.put("overForMs", state.overSince == 0 ? 0 : now - state.overSince);
+                    return row;
+                })
+                .toList();
+    }
+
+    private static final class SessionState {
+        final WebSocketSession session;
+        final AtomicInteger pending = new AtomicInteger();
+        final AtomicBoolean closing = new AtomicBoolean();
+        // destination -> 보관 중인 최신 메시지 (synchronized(this))
+        final Map<String, Message<?>> stash = new LinkedHashMap<>();
+        boolean resyncPresence;
+        final AtomicLong dropped = new AtomicLong();
+        volatile long overSince;
+
+        SessionState(WebSocketSession session) {
+            this.session = session;
+        }
+    }
+
+    /**
+     * 실제로 WebSocket 에 쓴 프레임 수를 세는 세션 래퍼
+     */
+    private final class CountingSession extends WebSocketSessionDecorator {
+        private final SessionState state;
+
+        CountingSession(WebSocketSession session, SessionState state) {
+            super(session);
+            this.state = state;
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            try {
+                super.sendMessage(message);
+            } finally {
+                onSent(state);
+            }
+        }
+    }
+}
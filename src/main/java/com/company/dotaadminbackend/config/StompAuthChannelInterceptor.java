@@ -5,14 +5,20 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
 import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.stereotype.Component;
 
 /**
  * STOMP 메시지 인터셉터 - JWT 인증 처리
+ * - CONNECT 프레임에서 1회만 토큰을 검증하고 세션에 Principal 을 바인딩
+ *   (HTTP 필터와 같은 UsernamePasswordAuthenticationToken: name = 이메일, 권한 = 토큰의 공유 권한 리스트)
+ * - 이후 프레임/핸들러/연결 해제 이벤트는 바인딩된 Principal 만 사용 (토큰 재검증 없음)
+ * - 인증 실패 시 예외 → 클라이언트에 STOMP ERROR 프레임 전송 후 연결 종료
  */
 @Component
 @RequiredArgsConstructor
@@ -20,45 +26,41 @@ import org.springframework.stereotype.Component;
 public class StompAuthChannelInterceptor implements ChannelInterceptor {
 
     private final JwtUtil jwtUtil;
+    private final AccessTokenDenylist accessTokenDenylist;
 
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
         StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
-        
+
         if (accessor != null && StompCommand.CONNECT.equals(accessor.getCommand())) {
-            log.info("STOMP CONNECT message received");
-            
-            // Authorization 헤더에서 JWT 토큰 추출
             String authHeader = accessor.getFirstNativeHeader("Authorization");
-            
-            if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                try {
-                    String token = authHeader.substring(7); // "Bearer " 제거
-                    log.info("Extracted token from STOMP header: {}", token.substring(0, Math.min(20, token.length())) + "...");
-                    
-                    // JWT 토큰 검증 및 사용자 정보 추출
-                    JwtUtil.TokenInfo tokenInfo = jwtUtil.getTokenInfo(token);
-                    String userId = tokenInfo.getEmail();
-                    
-                    if (userId != null && !userId.trim().isEmpty()) {
-                        // STOMP 세션에 사용자 ID 저장
-                        accessor.getSessionAttributes().put("userId", userId);
-                        log.info("STOMP authentication successful for user: {}", userId);
-                    } else {
-                        log.warn("STOMP authentication failed: No valid user ID in token");
-                        return null; // 연결 거부
-                    }
-                    
-                } catch (Exception e) {
-                    log.error("STOMP authentication failed due to error: {}", e.getMessage());
-                    return null; // 연결 거부
-                }
-            } else {
-                log.warn("STOMP authentication failed: No valid Authorization header");
-                return null; // 연결 거부
+            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+                log.warn("STOMP authentication failed: No valid Authorization header (session={})", accessor.getSessionId());
+                throw new MessageDeliveryException("Unauthorized");
+            }
+
+            // 검증된 토큰은 VerifiedTokenCache 에서 재사용 (HTTP 요청에서 이미 검증된 토큰이면 서명 검증 생략)
+            JwtUtil.DecodedToken decoded = jwtUtil.decode(authHeader.substring(7));
+            if (!decoded.isValid()) {
+                log.warn("STOMP authentication failed: {} token (session={})",
+                        decoded.isExpired() ? "expired" : "invalid", accessor.getSessionId());
+                throw new MessageDeliveryException(decoded.isExpired() ? "Token expired" : "Unauthorized");
+            }
+            JwtUtil.TokenInfo tokenInfo = decoded.getTokenInfo();
+            if (accessTokenDenylist.isRevoked(tokenInfo.getJti())) {
+                log.warn("STOMP authentication failed: revoked token (session={})", accessor.getSessionId());
+                throw new MessageDeliveryException("Token revoked");
             }
+            String userId = tokenInfo.getEmail();
+            if (userId == null || userId.isBlank()) {
+                log.warn("STOMP authentication failed: No valid user ID in token (session={})", accessor.getSessionId());
+                throw new MessageDeliveryException("Unauthorized");
+            }
+
+            accessor.setUser(new UsernamePasswordAuthenticationToken(userId, null, tokenInfo.getGrantedAuthorities()));
+            log.debug("STOMP authentication successful for user: {} (session={})", userId, accessor.getSessionId());
         }
-        
+
         return message;
     }
 }
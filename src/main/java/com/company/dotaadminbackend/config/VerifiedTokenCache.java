@@ -0,0 +1,83 @@
+package com.company.dotaadminbackend.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 서명 검증이 끝난 access 토큰 결과 캐시
+ * - 키: 토큰 원문이 아닌 SHA-256 digest (메모리에 토큰 원문을 남기지 않음)
+ * - 값: 검증된 DecodedToken, 토큰 자체 만료 시각이 지나면 조회 시 제거
+ * - 서명 키(kid)가 만료되면 removeKeyId 로 해당 키의 항목을 일괄 제거
+ * - maxSize 초과 시 만료 항목부터 정리하고, 그래도 넘치면 임의 항목을 밀어냄
+ */
+public class VerifiedTokenCache {
+
+    private final Map<String, JwtUtil.DecodedToken> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    public VerifiedTokenCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public JwtUtil.DecodedToken get(String token, long nowMillis) {
+        if (maxSize <= 0) return null;
+        String key = digest(token);
+        JwtUtil.DecodedToken cached = entries.get(key);
+        if (cached == null) return null;
+        if (cached.getExpiresAtMillis() <= nowMillis) {
+            entries.remove(key, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    public void put(String token, JwtUtil.DecodedToken decoded) {
+        if (maxSize <= 0) return;
+        if (entries.size() >= maxSize) {
+            evict(System.currentTimeMillis());
+        }
+        entries.put(digest(token), decoded);
+    }
+
+    /**
+     * kid 로 서명된 항목 제거 (kid 없는 구 토큰은 null)
+     */
+    public void removeKeyId(String kid) {
+        entries.values().removeIf(d -> Objects.equals(d.getKid(), kid));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict(long nowMillis) {
+        entries.values().removeIf(d -> d.getExpiresAtMillis() <= nowMillis);
+        // 만료 항목만으로 공간이 안 나면 1/8 정도를 임의로 비움 (LRU 까지는 불필요)
+        int overflow = entries.size() - maxSize + Math.max(1, maxSize / 8);
+        Iterator<String> it = entries.keySet().iterator();
+        while (overflow-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] hash = md.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
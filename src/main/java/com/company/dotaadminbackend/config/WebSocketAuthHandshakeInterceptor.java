@@ -54,11 +54,12 @@ public class WebSocketAuthHandshakeInterceptor implements HandshakeInterceptor {
             }
             // URL 인코딩된 'Bearer%20' 제거 허용
             tokenParam = tokenParam.replace("Bearer%20", "").replace("Bearer+", "").replace("Bearer", "").trim();
-            if (jwtUtil.isTokenExpired(tokenParam) || !jwtUtil.validateToken(tokenParam)) {
+            JwtUtil.DecodedToken decoded = jwtUtil.decode(tokenParam);
+            if (!decoded.isValid()) {
                 log.warn("Invalid or expired WS token");
                 return false;
             }
-            JwtUtil.TokenInfo info = jwtUtil.getTokenInfo(tokenParam);
+            JwtUtil.TokenInfo info = decoded.getTokenInfo();
             attributes.put("userId", info.getEmail());
             attributes.put("role", info.getRole());
             log.debug("WS handshake success user={} role={}", info.getEmail(), info.getRole());
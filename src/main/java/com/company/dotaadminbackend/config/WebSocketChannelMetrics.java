@@ -0,0 +1,125 @@
+package com.company.dotaadminbackend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * STOMP 채널(inbound/outbound) 메트릭 인터셉터 - 채널 인터셉터 목록의 마지막에 등록
+ * - websocket.channel.queued  : 채널에 들어왔지만 아직 executor 가 시작하지 않은 작업 수 (구독 handler 당 1개)
+ * - websocket.channel.active  : executor 에서 처리 중인 작업 수 (= 사용 중인 스레드 수)
+ * - websocket.channel.messages: destination 별 메시지 수 (rate 는 모니터링 쪽에서 계산)
+ * 모두 channel 태그(inbound/outbound)를 가진다. 스레드 풀/가상 스레드 어느 모드에서도 같은 방식으로 측정
+ *
+ * destination 태그는 숫자/UUID 경로 조각을 {id} 로 바꾸고, 종류가 max-destinations 를 넘으면 "other" 로 묶는다
+ */
+public class WebSocketChannelMetrics implements ExecutorChannelInterceptor {
+
+    private static final Pattern ID_SEGMENT =
+            Pattern.compile("/(\\d+|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12})(?=/|$)");
+    private static final String OTHER = "other";
+
+    private final String channelName;
+    private final MeterRegistry meterRegistry;
+    private final int maxDestinations;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, String> normalizedDestinations = new ConcurrentHashMap<>();
+    private final Set<String> knownDestinations = ConcurrentHashMap.newKeySet();
+
+    public WebSocketChannelMetrics(String channelName, MeterRegistry meterRegistry, int maxDestinations) {
+        this.channelName = channelName;
+        this.meterRegistry = meterRegistry;
+        this.maxDestinations = maxDestinations;
+        Gauge.builder("websocket.channel.queued", queued, AtomicInteger::get)
+                .tag("channel", channelName)
+                .description("Messages accepted by the channel but not yet picked up by its executor")
+                .register(meterRegistry);
+        Gauge.builder("websocket.channel.active", active, AtomicInteger::get)
+                .tag("channel", channelName)
+                .description("Messages currently being handled on the channel executor")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        // ExecutorSubscribableChannel 은 구독 handler 마다 executor 작업을 1개씩 만든다
+        queued.addAndGet(taskCount(channel));
+        counter(message).increment();
+        return message;
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        if (!sent || ex != null) {
+            queued.addAndGet(-taskCount(channel));
+        }
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        queued.decrementAndGet();
+        active.incrementAndGet();
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        active.decrementAndGet();
+    }
+
+    private static int taskCount(MessageChannel channel) {
+        return channel instanceof AbstractSubscribableChannel c
+                ? c.getSubscribers().size() : 1;
+    }
+
+    private Counter counter(Message<?> message) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        SimpMessageType type = accessor.getMessageType();
+        String destination = normalize(accessor.getDestination());
+        String key = (type != null ? type.name() : "OTHER") + ' ' + destination;
+        return counters.computeIfAbsent(key, k -> Counter.builder("websocket.channel.messages")
+                .tag("channel", channelName)
+                .tag("type", type != null ? type.name() : "OTHER")
+                .tag("destination", destination)
+                .register(meterRegistry));
+    }
+
+    private String normalize(String destination) {
+        if (destination == null) {
+            return "none";
+        }
+        String cached = normalizedDestinations.get(destination);
+        if (cached != null) {
+            return cached;
+        }
+        String normalized = ID_SEGMENT.matcher(destination).replaceAll("/{id}");
+        if (!knownDestinations.contains(normalized)) {
+            if (knownDestinations.size() >= maxDestinations) {
+                normalized = OTHER;
+            } else {
+                knownDestinations.add(normalized);
+            }
+        }
+        // 원본 destination 캐시는 상한을 넘으면 더 저장하지 않는다 (매번 정규화)
+        if (normalizedDestinations.size() < maxDestinations * 16) {
+            normalizedDestinations.put(destination, normalized);
+        }
+        return normalized;
+    }
+}
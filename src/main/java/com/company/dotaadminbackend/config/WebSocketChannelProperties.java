@@ -0,0 +1,75 @@
+package com.company.dotaadminbackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * STOMP 채널 executor / WebSocket 전송 한도 설정 (app.websocket.*)
+ *
+ * 채널 executor 모드
+ * - platform: 고정 크기 스레드 풀 (core/max/queue-capacity). 큐가 차면 max 까지 스레드 증가
+ * - virtual : 메시지 작업마다 가상 스레드 (max-concurrency 로 동시 실행 상한, 0 이면 무제한)
+ *   handler 에서 DB/Redis 등 블로킹 호출이 많을 때 풀 고갈 없이 처리
+ */
+@Component
+@ConfigurationProperties(prefix = "app.websocket")
+public class WebSocketChannelProperties {
+
+    private ChannelProperties inbound = new ChannelProperties();
+    private ChannelProperties outbound = new ChannelProperties();
+    private TransportProperties transport = new TransportProperties();
+    private int metricsMaxDestinations = 100;
+    // outbound 가 여러 스레드여도 같은 세션으로 가는 메시지 순서 유지 (presence seq 순서 보장)
+    private boolean preservePublishOrder = true;
+
+    public ChannelProperties getInbound() { return inbound; }
+    public void setInbound(ChannelProperties inbound) { this.inbound = inbound; }
+    public ChannelProperties getOutbound() { return outbound; }
+    public void setOutbound(ChannelProperties outbound) { this.outbound = outbound; }
+    public TransportProperties getTransport() { return transport; }
+    public void setTransport(TransportProperties transport) { this.transport = transport; }
+    public int getMetricsMaxDestinations() { return metricsMaxDestinations; }
+    public void setMetricsMaxDestinations(int metricsMaxDestinations) { this.metricsMaxDestinations = metricsMaxDestinations; }
+    public boolean isPreservePublishOrder() { return preservePublishOrder; }
+    public void setPreservePublishOrder(boolean preservePublishOrder) { this.preservePublishOrder = preservePublishOrder; }
+
+    public enum Mode { PLATFORM, VIRTUAL }
+
+    public static class ChannelProperties {
+        private Mode mode = Mode.PLATFORM;
+        private int corePoolSize = Runtime.getRuntime().availableProcessors() * 2;
+        private int maxPoolSize = Runtime.getRuntime().availableProcessors() * 4;
+        private int queueCapacity = 10000;
+        private int keepAliveSeconds = 60;
+        private int maxConcurrency = 0;
+
+        public Mode getMode() { return mode; }
+        public void setMode(Mode mode) { this.mode = mode; }
+        public int getCorePoolSize() { return corePoolSize; }
+        public void setCorePoolSize(int corePoolSize) { this.corePoolSize = corePoolSize; }
+        public int getMaxPoolSize() { return maxPoolSize; }
+        public void setMaxPoolSize(int maxPoolSize) { this.maxPoolSize = maxPoolSize; }
+        public int getQueueCapacity() { return queueCapacity; }
+        public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+        public int getKeepAliveSeconds() { return keepAliveSeconds; }
+        public void setKeepAliveSeconds(int keepAliveSeconds) { this.keepAliveSeconds = keepAliveSeconds; }
+        public int getMaxConcurrency() { return maxConcurrency; }
+        public void setMaxConcurrency(int maxConcurrency) { this.maxConcurrency = maxConcurrency; }
+    }
+
+    public static class TransportProperties {
+        private int sendBufferSizeLimit = 512 * 1024;
+        private int sendTimeLimitMs = 10_000;
+        private int messageSizeLimit = 64 * 1024;
+        private int timeToFirstMessageMs = 60_000;
+
+        public int getSendBufferSizeLimit() { return sendBufferSizeLimit; }
+        public void setSendBufferSizeLimit(int sendBufferSizeLimit) { this.sendBufferSizeLimit = sendBufferSizeLimit; }
+        public int getSendTimeLimitMs() { return sendTimeLimitMs; }
+        public void setSendTimeLimitMs(int sendTimeLimitMs) { this.sendTimeLimitMs = sendTimeLimitMs; }
+        public int getMessageSizeLimit() { return messageSizeLimit; }
+        public void setMessageSizeLimit(int messageSizeLimit) { this.messageSizeLimit = messageSizeLimit; }
+        public int getTimeToFirstMessageMs() { return timeToFirstMessageMs; }
+        public void setTimeToFirstMessageMs(int timeToFirstMessageMs) { this.timeToFirstMessageMs = timeToFirstMessageMs; }
+    }
+}
@@ -1,11 +1,21 @@
 package com.company.dotaadminbackend.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 /**
  * WebSocket STOMP 메시징 설정 클래스
@@ -14,13 +24,38 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
  */
 @Configuration
 @EnableWebSocketMessageBroker // WebSocket 메시지 브로커 활성화
+@Slf4j
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final WebSocketHandshakeInterceptor webSocketHandshakeInterceptor;
+    private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+    private final PresenceActivityChannelInterceptor presenceActivityChannelInterceptor;
+    private final SlowConsumerGuard slowConsumerGuard;
+    private final WebSocketChannelProperties channelProperties;
+    private final MeterRegistry meterRegistry;
+    private final TaskScheduler messageBrokerTaskScheduler;
+    private final ObjectProvider<RedisBrokerRelay> brokerRelay;
+    private final long heartbeatMs;
 
     @Autowired
-    public WebSocketConfig(WebSocketHandshakeInterceptor webSocketHandshakeInterceptor) {
+    public WebSocketConfig(WebSocketHandshakeInterceptor webSocketHandshakeInterceptor,
+            StompAuthChannelInterceptor stompAuthChannelInterceptor,
+            PresenceActivityChannelInterceptor presenceActivityChannelInterceptor,
+            SlowConsumerGuard slowConsumerGuard,
+            WebSocketChannelProperties channelProperties,
+            MeterRegistry meterRegistry,
+            @Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler messageBrokerTaskScheduler,
+            ObjectProvider<RedisBrokerRelay> brokerRelay,
+            @Value("${app.presence.idle.heartbeat-ms:10000}") long heartbeatMs) {
         this.webSocketHandshakeInterceptor = webSocketHandshakeInterceptor;
+        this.stompAuthChannelInterceptor = stompAuthChannelInterceptor;
+        this.presenceActivityChannelInterceptor = presenceActivityChannelInterceptor;
+        this.slowConsumerGuard = slowConsumerGuard;
+        this.channelProperties = channelProperties;
+        this.meterRegistry = meterRegistry;
+        this.messageBrokerTaskScheduler = messageBrokerTaskScheduler;
+        this.brokerRelay = brokerRelay;
+        this.heartbeatMs = heartbeatMs;
     }
 
     /**
@@ -32,11 +67,19 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         // 클라이언트가 구독할 수 있는 경로 설정 (서버 -> 클라이언트)
         // /topic: 1:N 브로드캐스트 (모든 구독자에게 전송)
         // /queue: 1:1 개인 메시지 (특정 사용자에게만 전송)
-        config.enableSimpleBroker("/topic", "/queue");
+        // STOMP heartbeat 협상 (서버 송신/클라이언트 송신 주기) - 클라이언트 heartbeat 가 세션 활동으로 기록됨
+        config.enableSimpleBroker("/topic", "/queue")
+            .setHeartbeatValue(new long[] {heartbeatMs, heartbeatMs})
+            .setTaskScheduler(messageBrokerTaskScheduler);
 
         // 클라이언트가 서버로 메시지를 보낼 때 사용할 prefix (클라이언트 -> 서버)
         // 예: /app/presence/activity로 메시지 전송
         config.setApplicationDestinationPrefixes("/app");
+
+        config.setPreservePublishOrder(channelProperties.isPreservePublishOrder());
+
+        // 노드 간 /topic 중계 (app.websocket.relay.enabled) - simple broker 로 가는 메시지를 Redis pub/sub 으로 복사
+        brokerRelay.ifAvailable(relay -> config.configureBrokerChannel().interceptors(relay));
     }
 
     /**
@@ -57,4 +100,66 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
             .setAllowedOriginPatterns("*")
             .withSockJS();
     }
+
+    /**
+     * 클라이언트 → 서버 채널
+     * - 인터셉터 순서: JWT 인증(CONNECT) → 세션 활동 기록 → 메트릭 (거부된 메시지는 메트릭에 잡히지 않음)
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        configureExecutor(registration, "ws-inbound-", channelProperties.getInbound());
+        registration.interceptors(stompAuthChannelInterceptor, presenceActivityChannelInterceptor,
+                new WebSocketChannelMetrics("inbound", meterRegistry, channelProperties.getMetricsMaxDestinations()));
+    }
+
+    /**
+     * 서버 → 클라이언트 채널
+     * - 인터셉터 순서: 느린 세션 backpressure(버리거나 보관) → 메트릭 (실제 전달되는 메시지만 집계)
+     */
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        configureExecutor(registration, "ws-outbound-", channelProperties.getOutbound());
+        registration.interceptors(slowConsumerGuard,
+                new WebSocketChannelMetrics("outbound", meterRegistry, channelProperties.getMetricsMaxDestinations()));
+    }
+
+    /**
+     * 전송 한도
+     * - send-buffer-size-limit / send-time-limit: 느린 클라이언트로 보낼 메시지가 버퍼 한도를 넘거나
+     *   한 번의 전송이 시간 한도를 넘으면 해당 세션을 닫는다 (다른 세션의 outbound 스레드를 붙잡지 않도록)
+     * - message-size-limit: 수신 STOMP 메시지 최대 크기
+     * - 그보다 먼저 세션별 미전송 메시지 수로 느린 세션을 감지해 presence 메시지를 줄인다 (SlowConsumerGuard)
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        WebSocketChannelProperties.TransportProperties transport = channelProperties.getTransport();
+        registration.setSendBufferSizeLimit(transport.getSendBufferSizeLimit())
+            .setSendTimeLimit(transport.getSendTimeLimitMs())
+            .setMessageSizeLimit(transport.getMessageSizeLimit())
+            .setTimeToFirstMessage(transport.getTimeToFirstMessageMs())
+            // 세션별 실제 전송 수 집계 (SlowConsumerGuard)
+            .addDecoratorFactory(slowConsumerGuard);
+    }
+
+    private void configureExecutor(ChannelRegistration registration, String threadNamePrefix,
+            WebSocketChannelProperties.ChannelProperties channel) {
+        if (channel.getMode() == WebSocketChannelProperties.Mode.VIRTUAL) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+            executor.setVirtualThreads(true);
+            if (channel.getMaxConcurrency() > 0) {
+                // 상한에 도달하면 보내는 쪽(WebSocket 수신 스레드 등)이 대기 → 자연스러운 backpressure
+                executor.setConcurrencyLimit(channel.getMaxConcurrency());
+            }
+            registration.executor(executor);
+            log.info("[WebSocketConfig] {} virtual threads, maxConcurrency={}", threadNamePrefix, channel.getMaxConcurrency());
+        } else {
+            registration.taskExecutor()
+                .corePoolSize(channel.getCorePoolSize())
+                .maxPoolSize(channel.getMaxPoolSize())
+                .queueCapacity(channel.getQueueCapacity())
+                .keepAliveSeconds(channel.getKeepAliveSeconds());
+            log.info("[WebSocketConfig] {} pool core={} max={} queue={}", threadNamePrefix,
+                    channel.getCorePoolSize(), channel.getMaxPoolSize(), channel.getQueueCapacity());
+        }
+    }
 }
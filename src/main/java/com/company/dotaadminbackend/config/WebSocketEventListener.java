@@ -1,103 +1,78 @@
 package com.company.dotaadminbackend.config;
 
-import com.company.dotaadminbackend.application.SimplePresenceService;
-import com.company.dotaadminbackend.config.JwtUtil;
+import com.company.dotaadminbackend.application.ChallengeRoomPresence;
+import com.company.dotaadminbackend.application.PresenceStore;
+import com.company.dotaadminbackend.application.SessionActivityTracker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
-import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.messaging.SessionConnectEvent;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
 
 import java.security.Principal;
-import java.util.Map;
 
+/**
+ * STOMP 세션 연결/해제 → 접속 상태 반영, 챌린지 presence topic 구독/해제 → 챌린지 room 입장/퇴장
+ * - 인증은 StompAuthChannelInterceptor 가 CONNECT 에서 1회 수행하고 Principal 을 바인딩한다
+ *   여기서는 이벤트에 실린 Principal 만 사용 (토큰 재검증 없음)
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class WebSocketEventListener {
 
-    private final SimplePresenceService presenceService;
-    private final SimpMessagingTemplate messagingTemplate;
-    private final JwtUtil jwtUtil;
+    private final PresenceStore presenceService;
+    private final SessionActivityTracker sessionActivityTracker;
+    private final ChallengeRoomPresence challengeRoomPresence;
 
     @EventListener
     public void handleWebSocketConnectListener(SessionConnectEvent event) {
-        log.info("=== SessionConnectEvent triggered ===");
-        StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
-        String sessionId = headerAccessor.getSessionId();
-        
-        log.info("Session ID: {}", sessionId);
-        log.info("All native headers: {}", headerAccessor.toNativeHeaderMap());
-        
-        // STOMP Connect 헤더에서 Authorization 헤더 추출
-        String authHeader = headerAccessor.getFirstNativeHeader("Authorization");
-        log.info("Authorization header from STOMP: {}", authHeader);
-        
-        String userId = null;
-        
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            try {
-                String token = authHeader.substring(7); // "Bearer " 제거
-                log.info("Extracted token from STOMP header: {}", token.substring(0, Math.min(20, token.length())) + "...");
-                
-                // JWT 토큰 검증 및 사용자 정보 추출
-                JwtUtil.TokenInfo tokenInfo = jwtUtil.getTokenInfo(token);
-                userId = tokenInfo.getEmail();
-                
-                // 세션에 사용자 ID 저장
-                headerAccessor.getSessionAttributes().put("userId", userId);
-                
-                log.info("STOMP authentication successful for user: {}", userId);
-                
-            } catch (Exception e) {
-                log.error("STOMP authentication failed: {}", e.getMessage());
-                return; // 인증 실패시 처리 중단
-            }
-        } else {
-            log.warn("No Authorization header in STOMP connection. Available headers: {}", headerAccessor.toNativeHeaderMap());
-            return; // 인증 헤더 없으면 처리 중단
-        }
-        
-        if (userId != null) {
-            log.info("WebSocket connection established for user: {} with session: {}", userId, sessionId);
-            
-            // 사용자 온라인 등록
-            boolean wasNewUser = presenceService.onConnect(sessionId, userId);
-            
-            // 실시간 브로드캐스트 (새로운 사용자인 경우에만)
-            if (wasNewUser) {
-                broadcastPresenceUpdate("joined", userId);
-            }
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        Principal user = event.getUser();
+        if (user == null) {
+            // 인터셉터가 인증되지 않은 CONNECT 를 거부하므로 정상 흐름에서는 발생하지 않음
+            log.warn("SessionConnectEvent without principal (session={})", sessionId);
+            return;
         }
+
+        String userId = user.getName();
+        log.debug("WebSocket connection established for user: {} with session: {}", userId, sessionId);
+
+        // 사용자 온라인 등록 (새로운 사용자인 경우 PresencePublisher 가 다음 window 에 모아서 브로드캐스트)
+        presenceService.onConnect(sessionId, userId);
+        // 유휴 만료 추적 시작 (활동 없이 TTL 이 지나면 연결 해제와 같은 경로로 오프라인 처리)
+        sessionActivityTracker.track(sessionId, userId);
     }
 
     @EventListener
     public void handleWebSocketDisconnectListener(SessionDisconnectEvent event) {
         String sessionId = event.getSessionId();
-        log.info("WebSocket connection closed for session: {}", sessionId);
-        
-        // 사용자 오프라인 처리
-        String offlineUserId = presenceService.onDisconnect(sessionId);
-        
-        // 실시간 브로드캐스트 (사용자가 완전히 오프라인된 경우)
-        if (offlineUserId != null) {
-            broadcastPresenceUpdate("left", offlineUserId);
+        Principal user = event.getUser();
+        log.debug("WebSocket connection closed for session: {} (user={})", sessionId, user != null ? user.getName() : null);
+
+        sessionActivityTracker.untrack(sessionId);
+        challengeRoomPresence.onDisconnect(sessionId);
+        // 사용자 오프라인 처리 (완전히 오프라인된 경우 PresencePublisher 가 다음 window 에 모아서 브로드캐스트)
+        presenceService.onDisconnect(sessionId);
+    }
+
+    @EventListener
+    public void handleSubscribeListener(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        Long challengeId = ChallengeRoomPresence.roomOf(accessor.getDestination());
+        if (challengeId == null || event.getUser() == null) {
+            return;
         }
+        challengeRoomPresence.join(accessor.getSessionId(), accessor.getSubscriptionId(), event.getUser().getName(), challengeId);
     }
-    
-    private void broadcastPresenceUpdate(String action, String userId) {
-        Map<String, Object> payload = Map.of(
-            "type", "PRESENCE_UPDATE",
-            "action", action,
-            "userId", userId,
-            "online", presenceService.getOnlineUsers(),
-            "timestamp", System.currentTimeMillis()
-        );
-        
-        log.debug("Broadcasting presence update: {} for user: {}", action, userId);
-        messagingTemplate.convertAndSend("/topic/presence", payload);
+
+    @EventListener
+    public void handleUnsubscribeListener(SessionUnsubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        challengeRoomPresence.leave(accessor.getSessionId(), accessor.getSubscriptionId());
     }
 }
@@ -1,20 +1,18 @@
 package com.company.dotaadminbackend.controller;
 
-import com.company.dotaadminbackend.application.SimplePresenceService;
-import com.company.dotaadminbackend.config.JwtUtil;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.company.dotaadminbackend.application.PresencePublisher;
+import com.company.dotaadminbackend.application.PresenceSnapshot;
+import com.company.dotaadminbackend.application.SessionActivityTracker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
-import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
-import org.springframework.web.socket.WebSocketSession;
 
 import java.security.Principal;
-import java.util.Map;
 
 @Controller
 public class WebSocketPresenceMessageController {
@@ -22,95 +20,55 @@ public class WebSocketPresenceMessageController {
     private static final Logger logger = LoggerFactory.getLogger(WebSocketPresenceMessageController.class);
 
     @Autowired
-    private SimplePresenceService presenceService;
+    private PresencePublisher presencePublisher;
 
     @Autowired
-    private SimpMessagingTemplate messagingTemplate;
-
-    @Autowired
-    private JwtUtil jwtUtil;
-
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SessionActivityTracker sessionActivityTracker;
 
     /**
-     * 클라이언트가 /app/presence/auth로 JWT 토큰을 보내면 처리
+     * 클라이언트가 /app/presence/auth 로 보내는 인증 메시지 (구 클라이언트 호환)
+     * - 인증과 접속 등록은 CONNECT 에서 이미 끝났으므로 (WebSocketEventListener) 로그만 남기고 아무것도 하지 않는다
+     * - 여기서 다시 등록하면 inbound executor 에 밀려 있던 이 메시지가 연결 해제 뒤에 처리될 때
+     *   해제된 세션이 되살아나 영구히 온라인으로 남는다 (재등록은 SessionActivityTracker 만 수행)
      */
     @MessageMapping("/presence/auth")
-    public void handleAuth(String message, Principal principal) {
-        try {
-            logger.info("Received auth message: {}", message);
-            
-            // JSON 파싱
-            JsonNode jsonNode = objectMapper.readTree(message);
-            String token = jsonNode.get("token").asText();
-            
-            if (token == null || token.trim().isEmpty()) {
-                logger.warn("Empty token received");
-                return;
-            }
-
-            // JWT 검증 및 사용자 정보 추출
-            String userId = jwtUtil.getEmailFromToken(token);
-            if (userId == null) {
-                logger.warn("Invalid token: cannot extract email");
-                return;
-            }
-
-            logger.info("Auth successful for user: {}", userId);
-
-            // Presence 서비스에 사용자 등록
-            String sessionId = principal != null ? principal.getName() : "unknown";
-            boolean isNewUser = presenceService.onConnect(sessionId, userId);
-            
-            if (isNewUser) {
-                // 새 사용자가 접속한 경우 모든 클라이언트에게 브로드캐스트
-                Map<String, Object> updateMessage = Map.of(
-                    "type", "PRESENCE_UPDATE",
-                    "action", "joined",
-                    "userId", userId,
-                    "online", presenceService.getOnlineUsers(),
-                    "timestamp", System.currentTimeMillis()
-                );
-                
-                messagingTemplate.convertAndSend("/topic/presence", updateMessage);
-                logger.info("Broadcasted join event for user: {}", userId);
-            }
-
-        } catch (Exception e) {
-            logger.error("Error processing auth message: {}", e.getMessage(), e);
+    public void handleAuth(Principal principal,
+            @Header(SimpMessageHeaderAccessor.SESSION_ID_HEADER) String sessionId) {
+        if (principal == null) {
+            logger.warn("Presence auth message without authenticated session: {}", sessionId);
+            return;
         }
+        logger.debug("Presence auth message from user: {} (session={}) - already registered at CONNECT",
+                principal.getName(), sessionId);
+    }
+
+    /**
+     * 클라이언트가 /app/presence/snapshot 을 구독하면 현재 스냅샷을 1회 응답 (브로커를 거치지 않음)
+     * - /topic/presence 구독 직후, 또는 delta 의 seq 가 건너뛰어졌을 때 사용
+     */
+    @SubscribeMapping("/presence/snapshot")
+    public PresenceSnapshot handleSnapshot() {
+        return presencePublisher.snapshot();
     }
 
     /**
      * 클라이언트가 /app/presence/activity로 활동 신호를 보내면 처리
+     * - 모든 inbound 프레임이 이미 활동으로 기록되므로 여기서는 명시적 신호를 한 번 더 기록만 한다
      */
     @MessageMapping("/presence/activity")
-    public void handleActivity(String message, Principal principal) {
-        try {
-            String sessionId = principal != null ? principal.getName() : "unknown";
-            logger.debug("Activity signal from session: {}", sessionId);
-            
-            // 활동 신호 처리 (현재는 로그만)
-            // 필요시 last activity timestamp 업데이트 등 추가 가능
-            
-        } catch (Exception e) {
-            logger.error("Error processing activity message: {}", e.getMessage(), e);
-        }
+    public void handleActivity(String message,
+            @Header(SimpMessageHeaderAccessor.SESSION_ID_HEADER) String sessionId) {
+        logger.debug("Activity signal from session: {}", sessionId);
+        sessionActivityTracker.touch(sessionId);
     }
 
     /**
      * 클라이언트가 /app/presence/connect로 연결 신호를 보내면 처리
      */
     @MessageMapping("/presence/connect")
-    public void handleConnect(String message, Principal principal) {
-        try {
-            String sessionId = principal != null ? principal.getName() : "unknown";
-            logger.info("Connect signal from session: {}", sessionId);
-            
-            // 연결 신호 처리 (현재는 로그만)
-            
-        } catch (Exception e) {
-            logger.error("Error processing connect message: {}", e.getMessage(), e);
-        }
+    public void handleConnect(Principal principal,
+            @Header(SimpMessageHeaderAccessor.SESSION_ID_HEADER) String sessionId) {
+        // 연결 신호 처리 (현재는 로그만)
+        logger.debug("Connect signal from user: {} (session={})", principal != null ? principal.getName() : null, sessionId);
     }
 }
@@ -0,0 +1,36 @@
+package com.company.dotaadminbackend.infrastructure.adapter;
+
+import com.company.dotaadminbackend.infrastructure.entity.ChallengeParticipantEntity;
+import com.company.dotaadminbackend.infrastructure.entity.ChallengeParticipantId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ChallengeParticipantRepository extends JpaRepository<ChallengeParticipantEntity, ChallengeParticipantId>,
+        ChallengeParticipantRepositoryCustom {
+
+    // 탈퇴 - 삭제된 행 수 (참가하지 않았으면 0)
+    @Modifying
+    @Query("DELETE FROM ChallengeParticipantEntity p WHERE p.challengeId = :challengeId AND p.participantId = :participantId")
+    int deleteParticipant(@Param("challengeId") Long challengeId, @Param("participantId") Long participantId);
+
+    // 챌린지 삭제 시 참가 행 정리
+    @Modifying
+    @Query("DELETE FROM ChallengeParticipantEntity p WHERE p.challengeId = :challengeId")
+    int deleteByChallenge(@Param("challengeId") Long challengeId);
+
+    boolean existsByChallengeIdAndParticipantId(Long challengeId, Long participantId);
+
+    long countByChallengeId(Long challengeId);
+
+    // 여러 챌린지의 참가자 [challengeId, participantId] - 챌린지별 참가 순서
+    @Query("SELECT p.challengeId, p.participantId FROM ChallengeParticipantEntity p " +
+           "WHERE p.challengeId IN :challengeIds ORDER BY p.challengeId, p.joinedAt, p.participantId")
+    List<Object[]> findParticipantIdsByChallengeIds(@Param("challengeIds") Collection<Long> challengeIds);
+}
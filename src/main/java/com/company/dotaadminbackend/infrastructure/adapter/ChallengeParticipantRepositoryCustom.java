@@ -0,0 +1,12 @@
+package com.company.dotaadminbackend.infrastructure.adapter;
+
+import java.time.LocalDateTime;
+
+/**
+ * ChallengeParticipantRepository 의 DB 별 native 쿼리 (구현: ChallengeParticipantRepositoryCustomImpl)
+ */
+public interface ChallengeParticipantRepositoryCustom {
+
+    // 참가 - 이미 참가한 경우 (challenge_id, participant_id) 충돌만 무시하고 0 반환 (동시 참가에도 행은 1개)
+    int insertIfAbsent(Long challengeId, Long participantId, LocalDateTime joinedAt);
+}
@@ -0,0 +1,46 @@
+package com.company.dotaadminbackend.infrastructure.adapter;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * 참가 행 insert
+ * - PostgreSQL: ON CONFLICT (challenge_id, participant_id) DO NOTHING - 중복 참가만 무시, FK 등 다른 제약 위반은 그대로 오류
+ * - H2 (h2 프로필): PostgreSQL 모드가 충돌 대상 지정을 지원하지 않아 ON CONFLICT DO NOTHING
+ */
+class ChallengeParticipantRepositoryCustomImpl implements ChallengeParticipantRepositoryCustom {
+
+    private static final String INSERT = "INSERT INTO challenge_participants (challenge_id, participant_id, joined_at) " +
+                                         "VALUES (:challengeId, :participantId, :joinedAt) ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile String insertIfAbsentSql;
+
+    @Override
+    @Transactional
+    public int insertIfAbsent(Long challengeId, Long participantId, LocalDateTime joinedAt) {
+        return entityManager.createNativeQuery(insertIfAbsentSql())
+                .setParameter("challengeId", challengeId)
+                .setParameter("participantId", participantId)
+                .setParameter("joinedAt", joinedAt)
+                .executeUpdate();
+    }
+
+    private String insertIfAbsentSql() {
+        String sql = insertIfAbsentSql;
+        if (sql == null) {
+            boolean h2 = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect() instanceof H2Dialect;
+            sql = INSERT + (h2 ? "ON CONFLICT DO NOTHING" : "ON CONFLICT (challenge_id, participant_id) DO NOTHING");
+            insertIfAbsentSql = sql;
+        }
+        return sql;
+    }
+}
@@ -3,12 +3,14 @@ package com.company.dotaadminbackend.infrastructure.adapter;
 import com.company.dotaadminbackend.infrastructure.entity.ChallengeEntity;
 import com.company.dotaadminbackend.domain.challenge.ChallengeStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface ChallengeRepository extends JpaRepository<ChallengeEntity, Long> {
+// 목록 API 는 ChallengeSpecifications + (created_at, id) keyset 으로 페이지 단위 조회
+public interface ChallengeRepository extends JpaRepository<ChallengeEntity, Long>, JpaSpecificationExecutor<ChallengeEntity> {
     List<ChallengeEntity> findByStatusOrderByCreatedAtDesc(ChallengeStatus status);
     List<ChallengeEntity> findByAuthorIdOrderByCreatedAtDesc(Long authorId);
     List<ChallengeEntity> findAllByOrderByCreatedAtDesc();
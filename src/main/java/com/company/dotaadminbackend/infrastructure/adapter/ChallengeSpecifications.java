@@ -0,0 +1,46 @@
+package com.company.dotaadminbackend.infrastructure.adapter;
+
+import com.company.dotaadminbackend.domain.challenge.ChallengeStatus;
+import com.company.dotaadminbackend.infrastructure.entity.ChallengeEntity;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * ChallengeRepository 목록 조회 조건
+ * - 지정된 조건만 WHERE 에 넣어 (status|author_id, created_at, id) 복합 인덱스를 그대로 탈 수 있게 한다
+ *   (":param IS NULL OR ..." 형태는 인덱스를 쓰지 못하는 계획이 나오므로 사용하지 않음)
+ */
+public final class ChallengeSpecifications {
+
+    private ChallengeSpecifications() {}
+
+    public static Specification<ChallengeEntity> hasStatus(ChallengeStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<ChallengeEntity> hasAuthor(Long authorId) {
+        return (root, query, cb) -> cb.equal(root.get("authorId"), authorId);
+    }
+
+    public static Specification<ChallengeEntity> createdAtOrAfter(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+    }
+
+    public static Specification<ChallengeEntity> createdBefore(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThan(root.get("createdAt"), to);
+    }
+
+    public static Specification<ChallengeEntity> hasTag(String tag) {
+        return (root, query, cb) -> cb.isMember(tag, root.get("tags"));
+    }
+
+    /**
+     * (created_at, id) 내림차순 keyset - 커서 위치보다 뒤(더 오래된) 행만
+     */
+    public static Specification<ChallengeEntity> olderThan(LocalDateTime createdAt, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), createdAt),
+                cb.and(cb.equal(root.get("createdAt"), createdAt), cb.lessThan(root.get("id"), id)));
+    }
+}
@@ -0,0 +1,10 @@
+package com.company.dotaadminbackend.infrastructure.adapter;
+
+import com.company.dotaadminbackend.infrastructure.entity.RoleAuthorityEntity;
+import com.company.dotaadminbackend.infrastructure.entity.RoleAuthorityId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RoleAuthorityRepository extends JpaRepository<RoleAuthorityEntity, RoleAuthorityId> {
+}
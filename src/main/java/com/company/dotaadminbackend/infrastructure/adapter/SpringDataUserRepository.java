@@ -9,6 +9,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -22,4 +24,8 @@ public interface SpringDataUserRepository extends JpaRepository<UserEntity, Long
     
     @Query("SELECT COUNT(u) FROM UserEntity u WHERE u.role.name = :roleName")
     Long countByRoleName(@Param("roleName") String roleName);
+
+    // 응답 조립용 사용자 요약 [id, username, email] - 엔티티(EAGER role) 로딩 없이 IN 1회
+    @Query("SELECT u.id, u.username, u.email FROM UserEntity u WHERE u.id IN :ids")
+    List<Object[]> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.company.dotaadminbackend.infrastructure.adapter;
+
+import com.company.dotaadminbackend.infrastructure.entity.UserAuthorityEntity;
+import com.company.dotaadminbackend.infrastructure.entity.UserAuthorityId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserAuthorityRepository extends JpaRepository<UserAuthorityEntity, UserAuthorityId> {
+}
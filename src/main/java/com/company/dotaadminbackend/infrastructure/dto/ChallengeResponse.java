@@ -44,9 +44,9 @@ public class ChallengeResponse {
             null, // username will be set by service layer
             null, // email will be set by service layer
             challenge.getTags(),
-            challenge.getParticipantIds(),
+            null, // participantIds will be set by service layer
             null, // participants will be set by service layer
-            challenge.getParticipantCount(),
+            0, // participantCount will be set by service layer
             challenge.getStatus(),
             challenge.getStartDate(),
             challenge.getEndDate(),
@@ -3,6 +3,7 @@ package com.company.dotaadminbackend.infrastructure.entity;
 import com.company.dotaadminbackend.domain.reward.RewardType;
 import com.company.dotaadminbackend.domain.challenge.ChallengeStatus;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -12,7 +13,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "challenges")
+@Table(name = "challenges", indexes = {
+    // 목록 keyset 페이지 (created_at, id) - 조건별로 선두 컬럼만 다름
+    @Index(name = "idx_challenges_created", columnList = "created_at, id"),
+    @Index(name = "idx_challenges_status_created", columnList = "status, created_at, id"),
+    @Index(name = "idx_challenges_author_created", columnList = "author_id, created_at, id")
+})
 public class ChallengeEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -24,8 +30,11 @@ public class ChallengeEntity {
     @Column(length = 1000)
     private String description;
 
+    // 목록 조회 시 여러 챌린지의 컬렉션을 IN 으로 한 번에 초기화 (챌린지마다 1회 조회 방지)
     @ElementCollection
-    @CollectionTable(name = "challenge_tags", joinColumns = @JoinColumn(name = "challenge_id"))
+    @BatchSize(size = 100)
+    @CollectionTable(name = "challenge_tags", joinColumns = @JoinColumn(name = "challenge_id"),
+            indexes = @Index(name = "idx_challenge_tags_tag", columnList = "tag, challenge_id"))
     @Column(name = "tag")
     private List<String> tags;
 
@@ -39,10 +48,7 @@ public class ChallengeEntity {
     @Column(name = "reward_type")
     private RewardType rewardType;
 
-    @ElementCollection
-    @CollectionTable(name = "challenge_participants", joinColumns = @JoinColumn(name = "challenge_id"))
-    @Column(name = "participant_id")
-    private List<Long> participantIds = new ArrayList<>();
+    // 참가자는 ChallengeParticipantEntity (challenge_participants 행) 로 관리
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -76,7 +82,6 @@ public class ChallengeEntity {
         this.startDate = startDate;
         this.endDate = endDate;
         this.status = ChallengeStatus.RECRUITING; // 기본값: 모집중
-        this.participantIds = new ArrayList<>();
     }
 
     // Business Logic Methods
@@ -124,18 +129,14 @@ public class ChallengeEntity {
         return LocalDate.now().isAfter(endDate);
     }
 
-    public boolean isParticipant(Long userId) {
-        return participantIds != null && participantIds.contains(userId);
-    }
-
     public boolean isAuthor(Long userId) {
         return authorId.equals(userId);
     }
 
-    public void addParticipant(Long userId) {
-        if (isParticipant(userId)) {
-            throw new IllegalStateException("이미 참여한 챌린지입니다.");
-        }
+    /**
+     * 참가 가능 여부 검증 (중복 참가는 challenge_participants PK 로 판정)
+     */
+    public void verifyCanJoin(Long userId) {
         if (isAuthor(userId)) {
             throw new IllegalStateException("작성자는 챌린지에 참여할 수 없습니다.");
         }
@@ -148,21 +149,6 @@ public class ChallengeEntity {
         if (!canParticipate()) {
             throw new IllegalStateException("챌린지에 참여할 수 없는 상태입니다.");
         }
-        if (participantIds == null) {
-            participantIds = new ArrayList<>();
-        }
-        participantIds.add(userId);
-    }
-
-
-    public void removeParticipant(Long userId) {
-        if (participantIds != null) {
-            participantIds.remove(userId);
-        }
-    }
-
-    public int getParticipantCount() {
-        return participantIds != null ? participantIds.size() : 0;
     }
 
     // Getters
@@ -173,7 +159,6 @@ public class ChallengeEntity {
     public Long getAuthorId() { return authorId; }
     public Integer getRewardAmount() { return rewardAmount; }
     public RewardType getRewardType() { return rewardType; }
-    public List<Long> getParticipantIds() { return participantIds; }
     public ChallengeStatus getStatus() { return status; }
     public LocalDate getStartDate() { return startDate; }
     public LocalDate getEndDate() { return endDate; }
@@ -182,7 +167,6 @@ public class ChallengeEntity {
 
     // Setters (필요한 것들만)
     public void setTags(List<String> tags) { this.tags = tags; }
-    public void setParticipantIds(List<Long> participantIds) { this.participantIds = participantIds; }
     
     // 챌린지 정보 수정 메서드
     public void updateChallengeInfo(String title, String description, LocalDate startDate, LocalDate endDate) {
@@ -0,0 +1,38 @@
+package com.company.dotaadminbackend.infrastructure.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+
+/**
+ * 챌린지 참가 1건 = 행 1개
+ * - PK (challenge_id, participant_id) 가 중복 참가를 막는 유일 제약
+ *   ddl-auto(update) 는 기존 테이블에 PK 를 추가하지 않으므로 같은 컬럼의 unique 제약도 명시 (insertIfAbsent 의 ON CONFLICT 대상)
+ * - joined_at 은 DB 기본값 now - 기존 행이 있는 테이블에 컬럼이 추가돼도 NOT NULL 을 만족
+ * - 참가/탈퇴는 ChallengeParticipantRepository 의 단일 행 insert/delete 로만 처리 (챌린지의 참가자 목록을 읽지 않음)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "challenge_participants", uniqueConstraints = @UniqueConstraint(
+        name = "uk_challenge_participants", columnNames = {"challenge_id", "participant_id"}))
+@IdClass(ChallengeParticipantId.class)
+public class ChallengeParticipantEntity {
+
+    @Id
+    @Column(name = "challenge_id")
+    private Long challengeId;
+
+    @Id
+    @Column(name = "participant_id")
+    private Long participantId;
+
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "joined_at", nullable = false)
+    private LocalDateTime joinedAt;
+}
@@ -0,0 +1,15 @@
+package com.company.dotaadminbackend.infrastructure.entity;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChallengeParticipantId implements Serializable {
+    private Long challengeId;
+    private Long participantId;
+}
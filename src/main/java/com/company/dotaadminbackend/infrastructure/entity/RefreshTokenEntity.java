@@ -6,7 +6,9 @@ import java.time.Instant;
 @Entity
 @Table(name = "refresh_tokens", indexes = {
     @Index(name = "idx_refresh_user", columnList = "user_id"),
-    @Index(name = "idx_refresh_token_hash", columnList = "tokenHash", unique = true)
+    @Index(name = "idx_refresh_token_hash", columnList = "tokenHash", unique = true),
+    @Index(name = "idx_refresh_expires_at", columnList = "expiresAt"),
+    @Index(name = "idx_refresh_revoked_at", columnList = "revoked, revokedAt")
 })
 public class RefreshTokenEntity {
 
@@ -19,7 +21,10 @@ public class RefreshTokenEntity {
     private UserEntity user;
 
     @Column(nullable = false, length = 128)
-    private String tokenHash; // 해시된 토큰
+    private String tokenHash; // 조회용 selector (레거시 토큰은 BCrypt 해시)
+
+    @Column(length = 64)
+    private String verifierHash; // verifier 의 HMAC-SHA256 (레거시 토큰은 null)
 
     @Column(nullable = false)
     private Instant expiresAt;
@@ -27,6 +32,8 @@ public class RefreshTokenEntity {
     @Column(nullable = false)
     private boolean revoked = false;
 
+    private Instant revokedAt; // revoke 시각 (정리 작업의 보존기간 기준)
+
     @Column(length = 64)
     private String ip;
 
@@ -42,10 +49,14 @@ public class RefreshTokenEntity {
     public void setUser(UserEntity user) { this.user = user; }
     public String getTokenHash() { return tokenHash; }
     public void setTokenHash(String tokenHash) { this.tokenHash = tokenHash; }
+    public String getVerifierHash() { return verifierHash; }
+    public void setVerifierHash(String verifierHash) { this.verifierHash = verifierHash; }
     public Instant getExpiresAt() { return expiresAt; }
     public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
     public boolean isRevoked() { return revoked; }
     public void setRevoked(boolean revoked) { this.revoked = revoked; }
+    public Instant getRevokedAt() { return revokedAt; }
+    public void setRevokedAt(Instant revokedAt) { this.revokedAt = revokedAt; }
     public String getIp() { return ip; }
     public void setIp(String ip) { this.ip = ip; }
     public String getUserAgent() { return userAgent; }
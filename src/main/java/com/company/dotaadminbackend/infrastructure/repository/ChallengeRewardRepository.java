@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -38,6 +39,11 @@ public interface ChallengeRewardRepository extends JpaRepository<ChallengeReward
     @Query("SELECT COUNT(DISTINCT r.participantId) FROM ChallengeRewardEntity r WHERE r.challenge.id = :challengeId AND r.processed = true")
     Long getRewardedParticipantCountByChallengeId(@Param("challengeId") Long challengeId);
 
+    // 여러 챌린지의 포상 받은 참가자 수 [challengeId, count] - 포상이 없는 챌린지는 결과에 없음
+    @Query("SELECT r.challenge.id, COUNT(DISTINCT r.participantId) FROM ChallengeRewardEntity r " +
+           "WHERE r.challenge.id IN :challengeIds AND r.processed = true GROUP BY r.challenge.id")
+    List<Object[]> getRewardedParticipantCountsByChallengeIds(@Param("challengeIds") Collection<Long> challengeIds);
+
     // 챌린지 삭제 시 연관 포상 삭제
     void deleteByChallenge_Id(Long challengeId); // (현재 cascade 사용으로 호출 필요 없음)
     
@@ -2,13 +2,54 @@ package com.company.dotaadminbackend.infrastructure.repository;
 
 import com.company.dotaadminbackend.infrastructure.entity.RefreshTokenEntity;
 import com.company.dotaadminbackend.infrastructure.entity.UserEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshTokenEntity, Long> {
     Optional<RefreshTokenEntity> findByTokenHash(String tokenHash);
     long deleteByUser(UserEntity user);
     void deleteAllByExpiresAtBefore(Instant now);
+
+    /**
+     * selector/verifier 형식 도입 이전에 발급된(BCrypt) 토큰 중 아직 사용 가능한 것만 조회
+     * - 최근 발급순, 후보 수는 Pageable 로 제한
+     */
+    @Query("SELECT rt FROM RefreshTokenEntity rt " +
+           "WHERE rt.verifierHash IS NULL AND rt.revoked = false AND rt.expiresAt > :now " +
+           "ORDER BY rt.id DESC")
+    List<RefreshTokenEntity> findLegacyCandidates(@Param("now") Instant now, Pageable pageable);
+
+    /**
+     * 보존기간이 지난 만료 토큰 id (expires_at 인덱스 순서) - 배치 크기는 Pageable 로 제한
+     */
+    @Query("SELECT rt.id FROM RefreshTokenEntity rt " +
+           "WHERE rt.expiresAt < :cutoff " +
+           "ORDER BY rt.expiresAt")
+    List<Long> findExpiredIds(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+    /**
+     * revoke 후 보존기간이 지난 토큰 id ((revoked, revoked_at) 인덱스 순서)
+     */
+    @Query("SELECT rt.id FROM RefreshTokenEntity rt " +
+           "WHERE rt.revoked = true AND rt.revokedAt < :cutoff " +
+           "ORDER BY rt.revokedAt")
+    List<Long> findRevokedIds(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+    /**
+     * 조회한 id 중 여전히 정리 대상인 행만 삭제 (조건 재확인 포함)
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshTokenEntity rt " +
+           "WHERE rt.id IN :ids " +
+           "AND (rt.expiresAt < :cutoff OR (rt.revoked = true AND rt.revokedAt < :cutoff))")
+    int deletePurgeable(@Param("ids") List<Long> ids, @Param("cutoff") Instant cutoff);
 }
@@ -5,6 +5,7 @@ import com.company.dotaadminbackend.application.RefreshTokenService;
 import com.company.dotaadminbackend.infrastructure.entity.RefreshTokenEntity;
 import com.company.dotaadminbackend.infrastructure.entity.UserEntity;
 import com.company.dotaadminbackend.application.UserService;
+import com.company.dotaadminbackend.config.AccessTokenDenylist;
 import com.company.dotaadminbackend.config.JwtUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,11 +36,14 @@ public class AuthController {
     private final UserService userService;
     private final JwtUtil jwtUtil;
     private final RefreshTokenService refreshTokenService;
+    private final AccessTokenDenylist accessTokenDenylist;
 
-    public AuthController(UserService userService, JwtUtil jwtUtil, RefreshTokenService refreshTokenService) {
+    public AuthController(UserService userService, JwtUtil jwtUtil, RefreshTokenService refreshTokenService,
+                          AccessTokenDenylist accessTokenDenylist) {
         this.userService = userService;
         this.jwtUtil = jwtUtil;
         this.refreshTokenService = refreshTokenService;
+        this.accessTokenDenylist = accessTokenDenylist;
     }
 
     @PostMapping("/register")
@@ -127,7 +131,7 @@ public class AuthController {
         }
 
         UserEntity user = userOpt.get();
-        if (!userService.validatePassword(request.password(), user.getPassword())) {
+        if (!userService.validatePasswordAndRehash(user, request.password())) {
             logger.warn("로그인 실패 - 비밀번호 틀림: {}", request.email());
             throw new BadCredentialsException("Invalid credentials");
         }
@@ -135,7 +139,7 @@ public class AuthController {
         logger.info("로그인 성공 - 사용자: {}", user.getEmail());
 
         // 🚀 사용자의 모든 권한 조회 (로그인 시 1회만)
-        List<AuthorityEntity> userAuthorities = userService.getUserAuthorities(user.getId());
+        List<AuthorityEntity> userAuthorities = userService.getUserAuthorities(user);
         List<String> authorityNames = userAuthorities.stream()
                 .map(AuthorityEntity::getName)
                 .toList();
@@ -220,8 +224,9 @@ public class AuthController {
         
         logger.info("토큰 갱신 성공 - 사용자: {}", oldToken.getUser().getEmail());
         
-        // rotate
+        // rotate (요청에 실린 기존 access 토큰도 함께 무효화)
         refreshTokenService.revoke(oldToken);
+        revokePresentedAccessToken(request);
     RefreshTokenService.GeneratedToken rotated = refreshTokenService.create(oldToken.getUser(), request.getRemoteAddr(), userAgent);
         
         logger.info("Setting rotated refresh token cookie for user: {}", oldToken.getUser().getEmail());
@@ -243,7 +248,7 @@ public class AuthController {
         response.addHeader("Set-Cookie", cookieHeader);
         
         // 🚀 사용자의 모든 권한 조회 (refresh 시에도 최신 권한 반영)
-        List<AuthorityEntity> userAuthorities = userService.getUserAuthorities(oldToken.getUser().getId());
+        List<AuthorityEntity> userAuthorities = userService.getUserAuthorities(oldToken.getUser());
         List<String> authorityNames = userAuthorities.stream()
                 .map(AuthorityEntity::getName)
                 .toList();
@@ -254,6 +259,36 @@ public class AuthController {
         return ResponseEntity.ok(Map.of("accessToken", access, "expiresIn", 300));
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(HttpServletRequest request, HttpServletResponse response) {
+        revokePresentedAccessToken(request);
+
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie c : cookies) {
+                if ("refresh_token".equals(c.getName())) {
+                    refreshTokenService.findValid(c.getValue()).ifPresent(refreshTokenService::revoke);
+                }
+            }
+        }
+
+        response.addHeader("Set-Cookie", "refresh_token=; Path=/; Max-Age=0; HttpOnly; SameSite=Lax");
+        logger.info("로그아웃 처리 완료 - IP: {}", request.getRemoteAddr());
+        return ResponseEntity.ok(Map.of("message", "Logout successful"));
+    }
+
+    // Authorization 헤더의 access 토큰을 만료 시각까지 denylist 에 등록
+    private void revokePresentedAccessToken(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return;
+        }
+        JwtUtil.DecodedToken decoded = jwtUtil.decode(authHeader.substring(7));
+        if (decoded.isValid()) {
+            accessTokenDenylist.revoke(decoded.getTokenInfo().getJti(), decoded.getExpiresAtMillis());
+        }
+    }
+
     public static class RegisterRequest {
         private String username; private String password; private String email;
         public String username() { return username; }
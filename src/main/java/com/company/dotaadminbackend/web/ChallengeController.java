@@ -1,5 +1,7 @@
 package com.company.dotaadminbackend.web;
 
+import com.company.dotaadminbackend.application.ChallengeFilter;
+import com.company.dotaadminbackend.application.ChallengePage;
 import com.company.dotaadminbackend.application.ChallengeService;
 import com.company.dotaadminbackend.application.UserService;
 import com.company.dotaadminbackend.application.RewardService;
@@ -13,7 +15,9 @@ import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,6 +26,8 @@ import java.util.Map;
 @RequestMapping("/api/challenges")
 public class ChallengeController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ChallengeService challengeService;
     private final UserService userService;
     private final RewardService rewardService;
@@ -58,45 +64,68 @@ public class ChallengeController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 챌린지 목록 (생성 시각 최신순, cursor 페이지)
+     * - status / authorId / createdFrom / createdTo (yyyy-MM-dd, 포함) / tag 는 함께 지정 가능 (AND)
+     * - 첫 요청은 cursor 없이, 이후 응답의 nextCursor 를 그대로 전달 (hasMore 가 false 면 마지막 페이지)
+     * - 챌린지당 participants 는 최대 ChallengeService.PAGE_MAX_PARTICIPANTS 명 (전체 수는 participantCount)
+     */
     @GetMapping
     public ResponseEntity<Map<String, Object>> getChallengeEntitys(
             @RequestParam(required = false) String status,
-            @RequestParam(required = false) String authorId) {
+            @RequestParam(required = false) String authorId,
+            @RequestParam(required = false) String createdFrom,
+            @RequestParam(required = false) String createdTo,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
 
-        List<ChallengeResponse> challengeResponses;
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
 
+        ChallengeStatus challengeStatus = null;
         if (status != null) {
             try {
-                ChallengeStatus challengeStatus = ChallengeStatus.valueOf(status.toUpperCase());
-                List<ChallengeEntity> challenges = challengeService.getChallengesByStatus(challengeStatus);
-                challengeResponses = challenges.stream()
-                        .map(challengeService::toChallengeResponse)
-                        .toList();
+                challengeStatus = ChallengeStatus.valueOf(status.toUpperCase());
             } catch (IllegalArgumentException e) {
                 throw new IllegalArgumentException("Invalid status: " + status);
             }
-        } else if (authorId != null) {
+        }
+        Long parsedAuthorId = null;
+        if (authorId != null) {
             try {
-                Long parsedAuthorId = Long.valueOf(authorId);
-                List<ChallengeEntity> challenges = challengeService.getChallengesByAuthor(parsedAuthorId);
-                challengeResponses = challenges.stream()
-                        .map(challengeService::toChallengeResponse)
-                        .toList();
+                parsedAuthorId = Long.valueOf(authorId);
             } catch (NumberFormatException e) {
                 throw new IllegalArgumentException("Invalid authorId: must be a valid number");
             }
-        } else {
-            challengeResponses = challengeService.getAllChallengesWithParticipants();
         }
+        ChallengeFilter filter = new ChallengeFilter(challengeStatus, parsedAuthorId,
+                parseDate("createdFrom", createdFrom), parseDate("createdTo", createdTo), tag);
+
+        ChallengePage page = challengeService.searchChallenges(filter, cursor, limit);
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
-        response.put("challenges", challengeResponses);
-        response.put("count", challengeResponses.size());
+        response.put("challenges", page.challenges());
+        response.put("count", page.challenges().size());
+        response.put("nextCursor", page.nextCursor());
+        response.put("hasMore", page.nextCursor() != null);
 
         return ResponseEntity.ok(response);
     }
 
+    private static LocalDate parseDate(String name, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": must be yyyy-MM-dd");
+        }
+    }
+
     // Participation APIs
     @PostMapping("/{challengeId:[0-9]+}/participate")
     public ResponseEntity<Map<String, Object>> participateInChallenge(@PathVariable Long challengeId) {
@@ -104,12 +133,13 @@ public class ChallengeController {
         
         try {
             ChallengeEntity updatedChallenge = challengeService.participateInChallenge(challengeId, currentUser.getId());
+            ChallengeResponse challengeResponse = challengeService.toChallengeResponse(updatedChallenge);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Successfully joined the challenge");
-            response.put("challenge", challengeService.toChallengeResponse(updatedChallenge));
-            response.put("participantCount", updatedChallenge.getParticipantCount());
+            response.put("challenge", challengeResponse);
+            response.put("participantCount", challengeResponse.getParticipantCount());
             response.put("timestamp", LocalDateTime.now());
             
             return ResponseEntity.ok(response);
@@ -136,12 +166,13 @@ public class ChallengeController {
         
         try {
             ChallengeEntity updatedChallenge = challengeService.leaveChallenge(challengeId, currentUser.getId());
+            ChallengeResponse challengeResponse = challengeService.toChallengeResponse(updatedChallenge);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Successfully left the challenge");
-            response.put("challenge", challengeService.toChallengeResponse(updatedChallenge));
-            response.put("participantCount", updatedChallenge.getParticipantCount());
+            response.put("challenge", challengeResponse);
+            response.put("participantCount", challengeResponse.getParticipantCount());
             response.put("timestamp", LocalDateTime.now());
             
             return ResponseEntity.ok(response);
@@ -186,10 +217,12 @@ public class ChallengeController {
         ChallengeEntity challenge = challengeService.getChallengeById(challengeId)
                 .orElseThrow(() -> new IllegalArgumentException("ChallengeEntity not found with id: " + challengeId));
 
+        ChallengeResponse challengeResponse = challengeService.toChallengeResponse(challenge);
+
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
-        response.put("challenge", challengeService.toChallengeResponse(challenge));
-        response.put("participantCount", challenge.getParticipantCount());
+        response.put("challenge", challengeResponse);
+        response.put("participantCount", challengeResponse.getParticipantCount());
         response.put("timestamp", LocalDateTime.now());
         return ResponseEntity.ok(response);
     }
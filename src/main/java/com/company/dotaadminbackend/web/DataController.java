@@ -1,5 +1,7 @@
 package com.company.dotaadminbackend.web;
 
+import com.company.dotaadminbackend.application.PasswordHashingService;
+import com.company.dotaadminbackend.common.exception.PasswordHashingBusyException;
 import com.company.dotaadminbackend.infrastructure.entity.RoleEntity;
 import com.company.dotaadminbackend.infrastructure.entity.UserEntity;
 import com.company.dotaadminbackend.infrastructure.adapter.RoleRepository;
@@ -7,7 +9,6 @@ import com.company.dotaadminbackend.infrastructure.adapter.SpringDataUserReposit
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.ArrayList;
@@ -23,7 +24,7 @@ public class DataController {
 
     private final SpringDataUserRepository userRepository;
     private final RoleRepository roleRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final Random random = new Random();
 
     private static final String[] FIRST_NAMES = {
@@ -42,10 +43,10 @@ public class DataController {
 
     public DataController(SpringDataUserRepository userRepository,
                           RoleRepository roleRepository,
-                          PasswordEncoder passwordEncoder) {
+                          PasswordHashingService passwordHashingService) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
     }
 
     @PostMapping("/generate-users")
@@ -55,7 +56,7 @@ public class DataController {
             long existingCountBefore = userRepository.count();
 
             List<UserEntity> users = new ArrayList<>();
-            String encodedPassword = passwordEncoder.encode("password123");
+            String encodedPassword = passwordHashingService.encode("password123");
             RoleEntity userRole = roleRepository.findByName("USER")
                 .orElseThrow(() -> new RuntimeException("USER role not found"));
 
@@ -100,6 +101,8 @@ public class DataController {
                 "totalUsersAfter", existingCountAfter,
                 "duration", duration + "ms"
             ));
+        } catch (PasswordHashingBusyException e) {
+            throw e; // 429 는 GlobalExceptionHandler 에서 처리
         } catch (RuntimeException e) {
             log.error("Failed to generate fake users", e);
             return ResponseEntity.badRequest().body(Map.of("error", "유저 생성 중 오류: " + e.getMessage()));
@@ -117,10 +120,12 @@ public class DataController {
             UserEntity admin = new UserEntity();
             admin.setUsername("admin");
             admin.setEmail("admin@example.com");
-            admin.setPassword(passwordEncoder.encode("admin123"));
+            admin.setPassword(passwordHashingService.encode("admin123"));
             admin.setRole(adminRole);
             userRepository.save(admin);
             return ResponseEntity.ok(Map.of("message", "관리자 계정이 생성되었습니다."));
+        } catch (PasswordHashingBusyException e) {
+            throw e; // 429 는 GlobalExceptionHandler 에서 처리
         } catch (RuntimeException e) {
             log.error("Failed to create admin", e);
             return ResponseEntity.badRequest().body(Map.of("error", "관리자 계정 생성 오류: " + e.getMessage()));
@@ -0,0 +1,15 @@
+-- 챌린지 목록 keyset 페이지 (created_at, id 내림차순) + 필터별 복합 인덱스
+-- 빈 DB 에서는 테이블이 아직 없으므로 (Hibernate 가 생성) 건너뜀
+DO $$
+BEGIN
+    IF to_regclass('public.challenges') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_challenges_created ON challenges (created_at, id);
+        CREATE INDEX IF NOT EXISTS idx_challenges_status_created ON challenges (status, created_at, id);
+        CREATE INDEX IF NOT EXISTS idx_challenges_author_created ON challenges (author_id, created_at, id);
+    END IF;
+
+    -- 태그 필터 (tag 로 challenge_id 찾기)
+    IF to_regclass('public.challenge_tags') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_challenge_tags_tag ON challenge_tags (tag, challenge_id);
+    END IF;
+END $$;
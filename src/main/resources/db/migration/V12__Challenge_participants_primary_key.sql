@@ -0,0 +1,23 @@
+-- 참가 정보를 행 단위로 관리 (참가/탈퇴 = 행 1개 insert/delete, 컬렉션 전체 삭제 후 재삽입 없음)
+-- 중복/빈 행 정리 후 (challenge_id, participant_id) 를 PK 로 지정해 중복 참가를 DB 에서 차단
+-- 빈 DB 에서는 테이블이 아직 없으므로 (Hibernate 가 생성) 건너뜀, PK 가 이미 있으면 추가하지 않음
+DO $$
+BEGIN
+    IF to_regclass('public.challenge_participants') IS NOT NULL THEN
+        DELETE FROM challenge_participants WHERE participant_id IS NULL;
+
+        DELETE FROM challenge_participants a
+            USING challenge_participants b
+        WHERE a.ctid < b.ctid
+          AND a.challenge_id = b.challenge_id
+          AND a.participant_id = b.participant_id;
+
+        ALTER TABLE challenge_participants ADD COLUMN IF NOT EXISTS joined_at TIMESTAMP NOT NULL DEFAULT now();
+
+        IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                       WHERE conrelid = 'public.challenge_participants'::regclass AND contype = 'p') THEN
+            ALTER TABLE challenge_participants
+                ADD CONSTRAINT pk_challenge_participants PRIMARY KEY (challenge_id, participant_id);
+        END IF;
+    END IF;
+END $$;
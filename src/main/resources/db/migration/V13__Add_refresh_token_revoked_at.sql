@@ -0,0 +1,9 @@
+-- revoke 시각 기록 - 정리 작업의 보존기간을 revoke 시점부터 계산 (기존 revoke 행은 지금부터 보존기간 적용)
+DO $$
+BEGIN
+    IF to_regclass('public.refresh_tokens') IS NOT NULL THEN
+        ALTER TABLE refresh_tokens ADD COLUMN IF NOT EXISTS revoked_at TIMESTAMP WITH TIME ZONE;
+        UPDATE refresh_tokens SET revoked_at = now() WHERE revoked = true AND revoked_at IS NULL;
+        CREATE INDEX IF NOT EXISTS idx_refresh_revoked_at ON refresh_tokens (revoked, revoked_at);
+    END IF;
+END $$;
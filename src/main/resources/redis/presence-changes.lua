@@ -0,0 +1,13 @@
+-- 변경 스트림에서 seq 이상 항목을 순서대로 조회 + 같은 시점의 seq
+-- KEYS[1] = 변경 스트림, KEYS[2] = seq
+-- ARGV[1] = 시작 seq, ARGV[2] = 최대 개수
+-- 반환: { 현재 seq, seq1, userId1, flag1, ... } (flag: '1' 온라인, '0' 오프라인, 'r' 목록 전체 초기화)
+-- seq 증가와 스트림 기록은 같은 스크립트 안에서 일어나므로, 현재 seq 까지의 항목이 없으면 스트림이 잘린 것
+local result = { tonumber(redis.call('GET', KEYS[2]) or '0') }
+for _, entry in ipairs(redis.call('XRANGE', KEYS[1], ARGV[1] .. '-0', '+', 'COUNT', ARGV[2])) do
+  local fields = entry[2]
+  result[#result + 1] = tonumber(string.match(entry[1], '^(%d+)'))
+  result[#result + 1] = fields[2]
+  result[#result + 1] = fields[4]
+end
+return result
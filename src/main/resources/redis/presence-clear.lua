@@ -0,0 +1,14 @@
+-- 모든 presence 데이터 삭제 (테스트용) - 노드 등록(set)과 heartbeat 키는 유지
+-- KEYS[1] = 온라인 사용자 set, KEYS[2] = seq, KEYS[3] = 전체 세션 수, KEYS[4] = 노드 set, KEYS[5] = 변경 스트림
+-- ARGV[1] = key prefix, ARGV[2] = 변경 스트림 최대 길이
+-- 반환: 새 seq (변경 스트림에는 reset 항목으로 기록)
+for _, userId in ipairs(redis.call('SMEMBERS', KEYS[1])) do
+  redis.call('DEL', ARGV[1] .. 'user:' .. userId)
+end
+for _, nodeId in ipairs(redis.call('SMEMBERS', KEYS[4])) do
+  redis.call('DEL', ARGV[1] .. 'node:' .. nodeId)
+end
+redis.call('DEL', KEYS[1], KEYS[3])
+local seq = redis.call('INCR', KEYS[2])
+redis.call('XADD', KEYS[5], 'MAXLEN', '~', ARGV[2], seq .. '-0', 'u', '', 'o', 'r')
+return seq
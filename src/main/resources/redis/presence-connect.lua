@@ -0,0 +1,35 @@
+-- 세션 연결 (원자적)
+-- KEYS[1] = 노드 세션 hash (sessionId -> userId), KEYS[2] = 온라인 사용자 set, KEYS[3] = seq, KEYS[4] = 전체 세션 수
+-- KEYS[5] = 변경 스트림 (entry id = seq, 모든 노드의 변경이 seq 순서로 빠짐없이 기록됨)
+-- ARGV[1] = key prefix, ARGV[2] = nodeId, ARGV[3] = sessionId, ARGV[4] = userId, ARGV[5] = 변경 스트림 최대 길이
+-- 반환: { 온라인 전환 seq (없으면 0), 이전 사용자 (세션이 다른 사용자로 재인증된 경우, 없으면 ''), 이전 사용자 오프라인 전환 seq }
+local function record(seq, userId, flag)
+  redis.call('XADD', KEYS[5], 'MAXLEN', '~', ARGV[5], seq .. '-0', 'u', userId, 'o', flag)
+end
+
+local member = ARGV[2] .. '|' .. ARGV[3]
+local previous = redis.call('HGET', KEYS[1], ARGV[3])
+local previousLeft = 0
+if previous then
+  if previous ~= ARGV[4] then
+    local previousKey = ARGV[1] .. 'user:' .. previous
+    redis.call('SREM', previousKey, member)
+    if redis.call('SCARD', previousKey) == 0 and redis.call('SREM', KEYS[2], previous) == 1 then
+      previousLeft = redis.call('INCR', KEYS[3])
+      record(previousLeft, previous, '0')
+    end
+  end
+else
+  redis.call('INCR', KEYS[4])
+end
+redis.call('HSET', KEYS[1], ARGV[3], ARGV[4])
+redis.call('SADD', ARGV[1] .. 'user:' .. ARGV[4], member)
+local joined = 0
+if redis.call('SADD', KEYS[2], ARGV[4]) == 1 then
+  joined = redis.call('INCR', KEYS[3])
+  record(joined, ARGV[4], '1')
+end
+if previous and previous ~= ARGV[4] then
+  return { joined, previous, previousLeft }
+end
+return { joined, '', 0 }
@@ -0,0 +1,18 @@
+-- 세션 해제 (원자적)
+-- KEYS[1] = 노드 세션 hash, KEYS[2] = 온라인 사용자 set, KEYS[3] = seq, KEYS[4] = 전체 세션 수, KEYS[5] = 변경 스트림
+-- ARGV[1] = key prefix, ARGV[2] = nodeId, ARGV[3] = sessionId, ARGV[4] = 변경 스트림 최대 길이
+-- 반환: { userId (모르는 세션이면 ''), 오프라인 전환 seq (아직 다른 세션이 있으면 0) }
+local userId = redis.call('HGET', KEYS[1], ARGV[3])
+if not userId then
+  return { '', 0 }
+end
+redis.call('HDEL', KEYS[1], ARGV[3])
+redis.call('DECR', KEYS[4])
+local userKey = ARGV[1] .. 'user:' .. userId
+redis.call('SREM', userKey, ARGV[2] .. '|' .. ARGV[3])
+local left = 0
+if redis.call('SCARD', userKey) == 0 and redis.call('SREM', KEYS[2], userId) == 1 then
+  left = redis.call('INCR', KEYS[3])
+  redis.call('XADD', KEYS[5], 'MAXLEN', '~', ARGV[4], left .. '-0', 'u', userId, 'o', '0')
+end
+return { userId, left }
@@ -0,0 +1,11 @@
+-- 온라인 사용자 한 페이지 (SSCAN) + 같은 시점의 seq
+-- KEYS[1] = seq, KEYS[2] = 온라인 사용자 set
+-- ARGV[1] = SSCAN 커서 ('0' 이면 처음), ARGV[2] = COUNT
+-- 반환: { seq, 다음 커서 ('0' 이면 끝), userId... }
+local seq = tonumber(redis.call('GET', KEYS[1]) or '0')
+local scan = redis.call('SSCAN', KEYS[2], ARGV[1], 'COUNT', ARGV[2])
+local result = { seq, scan[1] }
+for _, userId in ipairs(scan[2]) do
+  result[#result + 1] = userId
+end
+return result
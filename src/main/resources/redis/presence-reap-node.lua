@@ -0,0 +1,27 @@
+-- 노드의 모든 세션 제거 (heartbeat 가 끊긴 노드 정리, 또는 정상 종료 시 자기 자신)
+-- KEYS[1] = 대상 노드 세션 hash, KEYS[2] = 온라인 사용자 set, KEYS[3] = seq, KEYS[4] = 전체 세션 수, KEYS[5] = 노드 set
+-- KEYS[6] = 변경 스트림, KEYS[7] = 대상 노드 alive 키
+-- ARGV[1] = key prefix, ARGV[2] = 대상 nodeId, ARGV[3] = 변경 스트림 최대 길이
+-- ARGV[4] = '1' 이면 alive 키와 무관하게 정리 (정상 종료), 아니면 alive 키가 다시 생긴 노드는 정리하지 않음
+-- 반환: { userId1, seq1, userId2, seq2, ... } (오프라인으로 전환된 사용자만)
+if ARGV[4] ~= '1' and redis.call('EXISTS', KEYS[7]) == 1 then
+  return {} -- 만료 확인 뒤 heartbeat 가 다시 살아난 노드
+end
+local entries = redis.call('HGETALL', KEYS[1])
+local result = {}
+for i = 1, #entries, 2 do
+  local sessionId = entries[i]
+  local userId = entries[i + 1]
+  local userKey = ARGV[1] .. 'user:' .. userId
+  redis.call('SREM', userKey, ARGV[2] .. '|' .. sessionId)
+  redis.call('DECR', KEYS[4])
+  if redis.call('SCARD', userKey) == 0 and redis.call('SREM', KEYS[2], userId) == 1 then
+    local seq = redis.call('INCR', KEYS[3])
+    redis.call('XADD', KEYS[6], 'MAXLEN', '~', ARGV[3], seq .. '-0', 'u', userId, 'o', '0')
+    result[#result + 1] = userId
+    result[#result + 1] = seq
+  end
+end
+redis.call('DEL', KEYS[1])
+redis.call('SREM', KEYS[5], ARGV[2])
+return result
@@ -0,0 +1,9 @@
+-- seq 와 온라인 목록을 한 시점으로 조회
+-- KEYS[1] = seq, KEYS[2] = 온라인 사용자 set
+-- 반환: { seq, userId... }
+local seq = tonumber(redis.call('GET', KEYS[1]) or '0')
+local result = { seq }
+for _, userId in ipairs(redis.call('SMEMBERS', KEYS[2])) do
+  result[#result + 1] = userId
+end
+return result
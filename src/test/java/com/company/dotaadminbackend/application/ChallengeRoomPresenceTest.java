@@ -0,0 +1,186 @@
+package com.company.dotaadminbackend.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ChallengeRoomPresence 입장/퇴장/연결 해제/유휴 만료 bookkeeping
+ * flush 스레드는 띄우지 않고 (start 미호출) flush 를 직접 호출
+ */
+class ChallengeRoomPresenceTest {
+
+    private static final long ROOM = 7L;
+    private static final long OTHER_ROOM = 8L;
+
+    private final List<Message<?>> sent = new CopyOnWriteArrayList<>();
+    private ChallengeRoomPresence rooms;
+
+    @BeforeEach
+    void setUp() {
+        rooms = new ChallengeRoomPresence(new SimpMessagingTemplate((message, timeout) -> sent.add(message)), 250, 2);
+    }
+
+    @Test
+    void sameUserInSeveralSessionsIsOneViewerUntilLastLeaves() {
+        rooms.join("s1", "sub-1", "alice", ROOM);
+        rooms.join("s2", "sub-1", "alice", ROOM);
+        rooms.join("s3", "sub-1", "bob", ROOM);
+        assertThat(rooms.getViewers(ROOM)).containsExactlyInAnyOrder("alice", "bob");
+
+        rooms.leave("s1", "sub-1");
+        assertThat(rooms.getViewers(ROOM)).containsExactlyInAnyOrder("alice", "bob");
+
+        rooms.leave("s2", "sub-1");
+        rooms.leave("s3", "sub-1");
+        assertThat(rooms.getViewers(ROOM)).isEmpty();
+        assertThat(rooms.getActiveRoomCount()).isZero();
+    }
+
+    @Test
+    void reusedSubscriptionIdMovesViewerToNewRoom() {
+        rooms.join("s1", "sub-1", "alice", ROOM);
+        rooms.join("s1", "sub-1", "alice", OTHER_ROOM);
+
+        assertThat(rooms.getViewers(ROOM)).isEmpty();
+        assertThat(rooms.getViewers(OTHER_ROOM)).containsExactly("alice");
+    }
+
+    @Test
+    void leaveOfUnknownSubscriptionIsIgnored() {
+        rooms.join("s1", "sub-1", "alice", ROOM);
+
+        rooms.leave("s1", "sub-2");
+        rooms.leave("unknown", "sub-1");
+
+        assertThat(rooms.getViewers(ROOM)).containsExactly("alice");
+    }
+
+    @Test
+    void disconnectLeavesEveryRoomOfSession() {
+        rooms.join("s1", "sub-1", "alice", ROOM);
+        rooms.join("s1", "sub-2", "alice", OTHER_ROOM);
+        rooms.join("s2", "sub-1", "bob", ROOM);
+
+        rooms.onDisconnect("s1");
+
+        assertThat(rooms.getViewers(ROOM)).containsExactly("bob");
+        assertThat(rooms.getViewers(OTHER_ROOM)).isEmpty();
+        assertThat(rooms.getActiveRoomCount()).isEqualTo(1);
+        assertThat(rooms.getTrackedSessionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void subscribeHandledAfterDisconnectDoesNotResurrectSession() {
+        rooms.join("s1", "sub-1", "alice", ROOM);
+        rooms.onDisconnect("s1");
+
+        rooms.join("s1", "sub-2", "alice", ROOM); // 다른 inbound 스레드에서 늦게 처리된 SUBSCRIBE
+
+        assertThat(rooms.getViewers(ROOM)).isEmpty();
+        assertThat(rooms.getActiveRoomCount()).isZero();
+        assertThat(rooms.getTrackedSessionCount()).isZero();
+    }
+
+    @Test
+    void closedSessionsArePurgedAfterRetention() {
+        rooms.onDisconnect("s1");
+        rooms.purgeClosedSessions(Long.MAX_VALUE);
+
+        rooms.join("s1", "sub-1", "alice", ROOM);
+
+        assertThat(rooms.getViewers(ROOM)).containsExactly("alice");
+    }
+
+    @Test
+    void suspendedSessionIsNotViewerUntilResumed() {
+        rooms.join("s1", "sub-1", "alice", ROOM);
+        rooms.join("s2", "sub-1", "bob", ROOM);
+
+        rooms.suspend("s1");
+        assertThat(rooms.getViewers(ROOM)).containsExactly("bob");
+
+        // 만료 중 새 구독은 기억만 하고 resume 때 입장, 만료 중 해제한 구독은 resume 에서 제외
+        rooms.join("s1", "sub-2", "alice", OTHER_ROOM);
+        rooms.leave("s1", "sub-1");
+        assertThat(rooms.getViewers(OTHER_ROOM)).isEmpty();
+
+        rooms.resume("s1");
+        assertThat(rooms.getViewers(ROOM)).containsExactly("bob");
+        assertThat(rooms.getViewers(OTHER_ROOM)).containsExactly("alice");
+
+        rooms.suspend("s1");
+        rooms.onDisconnect("s1");
+        rooms.resume("s1");
+        assertThat(rooms.getViewers(OTHER_ROOM)).isEmpty();
+        assertThat(rooms.getActiveRoomCount()).isEqualTo(1);
+    }
+
+    @Test
+    void flushSendsFullViewerListOnlyForChangedRooms() throws Exception {
+        rooms.join("s1", "sub-1", "alice", ROOM);
+        rooms.join("s2", "sub-1", "bob", ROOM);
+        rooms.join("s3", "sub-1", "carol", ROOM);
+
+        rooms.flush();
+        rooms.flush(); // 변경 없음 - 전송 없음
+
+        assertThat(sent).hasSize(1);
+        Message<?> message = sent.get(0);
+        assertThat(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))
+                .isEqualTo(ChallengeRoomPresence.topicOf(ROOM));
+        Map<?, ?> payload = new ObjectMapper().readValue((byte[]) message.getPayload(), Map.class);
+        assertThat(payload.get("type")).isEqualTo("ROOM_PRESENCE");
+        assertThat(payload.get("count")).isEqualTo(3);
+        assertThat((List<?>) payload.get("viewers")).hasSize(2); // max-listed
+    }
+
+    @Test
+    void concurrentJoinLeaveAndDisconnectLeaveNoRoomsBehind() throws Exception {
+        int sessions = 200;
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> tasks = new CopyOnWriteArrayList<>();
+            for (int i = 0; i < sessions; i++) {
+                String sessionId = "s" + i;
+                String userId = "user" + (i % 20);
+                long room = i % 5;
+                tasks.add(pool.submit(() -> {
+                    start.await();
+                    rooms.join(sessionId, "sub-1", userId, room);
+                    rooms.join(sessionId, "sub-2", userId, room + 1);
+                    rooms.leave(sessionId, "sub-1");
+                    return null;
+                }));
+                tasks.add(pool.submit(() -> {
+                    start.await();
+                    rooms.onDisconnect(sessionId);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(rooms.getActiveRoomCount()).isZero();
+        assertThat(rooms.getTrackedSessionCount()).isZero();
+    }
+}
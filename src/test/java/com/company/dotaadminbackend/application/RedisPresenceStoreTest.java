@@ -0,0 +1,282 @@
+package com.company.dotaadminbackend.application;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RedisPresenceStore - 실제 Redis(컨테이너) 대상 검증, Docker 가 없으면 건너뜀
+ * 두 store 인스턴스(nodeId 다름)로 두 백엔드 노드를 흉내낸다
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RedisPresenceStoreTest {
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redis;
+    private RedisPresenceStore nodeA;
+    private RedisPresenceStore nodeB;
+    private final List<PresenceChange> changesA = new CopyOnWriteArrayList<>();
+    private final List<PresenceChange> changesB = new CopyOnWriteArrayList<>();
+    private final List<Long> resetsB = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redis = new StringRedisTemplate(connectionFactory);
+        redis.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+
+        nodeA = newNode("node-a", changesA, new CopyOnWriteArrayList<>(), 100_000);
+        nodeB = newNode("node-b", changesB, resetsB, 100_000);
+    }
+
+    // 변경 스트림 주기 읽기는 사실상 끄고 (1시간) 테스트에서 pollChanges 를 직접 호출
+    private RedisPresenceStore newNode(String nodeId, List<PresenceChange> changes, List<Long> resets, long maxLen) {
+        RedisPresenceStore store = new RedisPresenceStore(redis, "{presence-test}:", nodeId, 30_000, 3_600_000, maxLen);
+        store.setChangeListener(new PresenceChangeListener() {
+            @Override
+            public void onChange(PresenceChange change) {
+                changes.add(change);
+            }
+
+            @Override
+            public void onReset(long seq) {
+                resets.add(seq);
+            }
+        });
+        store.register();
+        return store;
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.deregister();
+        nodeB.deregister();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void userStaysOnlineUntilLastSessionAcrossNodesCloses() {
+        PresenceChange joined = nodeA.onConnect("s1", "alice@example.com");
+        assertThat(joined).isNotNull();
+        assertThat(joined.online()).isTrue();
+
+        assertThat(nodeB.onConnect("s2", "alice@example.com")).isNull();
+        assertThat(nodeA.getSessionCount("alice@example.com")).isEqualTo(2);
+        assertThat(nodeB.getOnlineUsers()).containsExactly("alice@example.com");
+
+        assertThat(nodeA.onDisconnect("s1")).isNull();
+        assertThat(nodeA.isOnline("alice@example.com")).isTrue();
+
+        PresenceChange left = nodeB.onDisconnect("s2");
+        assertThat(left).isNotNull();
+        assertThat(left.online()).isFalse();
+        assertThat(left.seq()).isGreaterThan(joined.seq());
+        assertThat(nodeA.isOnline("alice@example.com")).isFalse();
+        assertThat(nodeA.getSessionCount()).isZero();
+
+        // 두 노드 모두 어느 노드에서 일어난 변경이든 같은 순서로 받는다
+        nodeA.pollChanges();
+        nodeB.pollChanges();
+        assertThat(changesA).containsExactly(joined, left);
+        assertThat(changesB).containsExactly(joined, left);
+    }
+
+    @Test
+    void everyNodeReceivesContiguousSequenceOfAllNodesChanges() throws Exception {
+        int usersPerNode = 200;
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> tasks = List.of(
+                    pool.submit(() -> { start.await(); churn(nodeA, "a", usersPerNode); return null; }),
+                    pool.submit(() -> { start.await(); churn(nodeB, "b", usersPerNode); return null; }),
+                    pool.submit(() -> { start.await(); pollUntilQuiet(nodeA); return null; }),
+                    pool.submit(() -> { start.await(); pollUntilQuiet(nodeB); return null; }));
+            start.countDown();
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        nodeA.pollChanges();
+        nodeB.pollChanges();
+
+        long last = nodeA.currentSequence();
+        assertThat(changesA).extracting(PresenceChange::seq)
+                .containsExactlyElementsOf(LongStream.rangeClosed(1, last).boxed().toList());
+        assertThat(changesB).containsExactlyElementsOf(changesA);
+        assertThat(resetsB).isEmpty();
+    }
+
+    // 사용자마다 접속 후 짝수 번째는 해제 - 두 노드의 seq 가 서로 섞이도록
+    private static void churn(RedisPresenceStore node, String prefix, int users) {
+        for (int i = 0; i < users; i++) {
+            node.onConnect(prefix + "-s" + i, prefix + i + "@example.com");
+            if (i % 2 == 0) {
+                node.onDisconnect(prefix + "-s" + i);
+            }
+        }
+    }
+
+    private static void pollUntilQuiet(RedisPresenceStore node) {
+        for (int i = 0; i < 200; i++) {
+            node.pollChanges();
+        }
+    }
+
+    @Test
+    void trimmedChangeStreamIsReportedAsReset() {
+        // 스트림을 짧게 유지하는 노드가 기록 → 아직 읽지 않은 node-b 의 다음 seq 가 잘려 나감
+        RedisPresenceStore writer = newNode("node-c", new CopyOnWriteArrayList<>(), new CopyOnWriteArrayList<>(), 1);
+        try {
+            for (int i = 0; i < 500; i++) {
+                writer.onConnect("s" + i, "user" + i + "@example.com");
+            }
+
+            nodeB.pollChanges();
+
+            assertThat(resetsB).containsExactly(writer.currentSequence());
+            assertThat(changesB).isEmpty();
+        } finally {
+            writer.deregister();
+        }
+    }
+
+    @Test
+    void snapshotCarriesCurrentSequence() {
+        nodeA.onConnect("s1", "alice@example.com");
+        nodeB.onConnect("s2", "bob@example.com");
+
+        PresenceSnapshot snapshot = nodeA.snapshot();
+
+        assertThat(snapshot.seq()).isEqualTo(nodeB.currentSequence()).isEqualTo(2L);
+        assertThat(snapshot.online()).isEqualTo(Set.of("alice@example.com", "bob@example.com"));
+    }
+
+    @Test
+    void concurrentDisconnectsOfSameUserReportOfflineOnce() throws Exception {
+        nodeA.onConnect("s1", "alice@example.com");
+        nodeB.onConnect("s2", "alice@example.com");
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            Future<PresenceChange> a = pool.submit(() -> { start.await(); return nodeA.onDisconnect("s1"); });
+            Future<PresenceChange> b = pool.submit(() -> { start.await(); return nodeB.onDisconnect("s2"); });
+            start.countDown();
+
+            long offlineReports = Stream.of(a.get(), b.get()).filter(change -> change != null).count();
+            assertThat(offlineReports).isEqualTo(1);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(nodeA.getOnlineCount()).isZero();
+    }
+
+    @Test
+    void deadNodeSessionsAreReapedByLiveNode() {
+        nodeA.onConnect("s1", "alice@example.com");
+        nodeA.onConnect("s2", "bob@example.com");
+        nodeB.onConnect("s3", "bob@example.com");
+
+        // node-a 의 heartbeat 가 끊긴 상황
+        redis.delete("{presence-test}:node:node-a:alive");
+
+        assertThat(nodeB.reapDeadNodes()).isEqualTo(1);
+
+        assertThat(nodeB.getOnlineUsers()).containsExactly("bob@example.com");
+        assertThat(nodeB.getSessionCount()).isEqualTo(1);
+        nodeB.pollChanges();
+        assertThat(changesB).last()
+                .satisfies(change -> {
+                    assertThat(change.userId()).isEqualTo("alice@example.com");
+                    assertThat(change.online()).isFalse();
+                });
+    }
+
+    @Test
+    void liveNodeReapedAfterLapsedHeartbeatReRegistersItsSessions() {
+        nodeA.onConnect("s1", "alice@example.com");
+        nodeA.onConnect("s2", "bob@example.com");
+        nodeB.onConnect("s3", "bob@example.com");
+
+        // node-a 가 살아 있지만 GC 정지 등으로 alive 키가 만료되어 node-b 가 정리
+        redis.delete("{presence-test}:node:node-a:alive");
+        assertThat(nodeB.reapDeadNodes()).isEqualTo(1);
+        assertThat(nodeB.getOnlineUsers()).containsExactly("bob@example.com");
+
+        nodeA.heartbeat();
+
+        assertThat(nodeB.getOnlineUsers()).containsExactlyInAnyOrder("alice@example.com", "bob@example.com");
+        assertThat(nodeB.getSessionCount()).isEqualTo(3);
+        assertThat(nodeB.getSessionCount("bob@example.com")).isEqualTo(2);
+        nodeB.pollChanges();
+        assertThat(changesB).last()
+                .satisfies(change -> {
+                    assertThat(change.userId()).isEqualTo("alice@example.com");
+                    assertThat(change.online()).isTrue();
+                });
+
+        // 다시 등록된 세션의 해제도 정상 반영
+        assertThat(nodeA.onDisconnect("s1")).isNotNull();
+        assertThat(nodeB.isOnline("alice@example.com")).isFalse();
+        assertThat(nodeB.reapDeadNodes()).isZero();
+    }
+
+    @Test
+    void nodeWhoseHeartbeatReturnedIsNotReaped() {
+        nodeA.onConnect("s1", "alice@example.com");
+        redis.delete("{presence-test}:node:node-a:alive");
+
+        nodeA.heartbeat(); // node-b 가 만료를 보기 전에 heartbeat 복귀
+        assertThat(nodeB.reapDeadNodes()).isZero();
+
+        assertThat(nodeB.getOnlineUsers()).containsExactly("alice@example.com");
+        assertThat(nodeB.getSessionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void clearAllResetsEverything() {
+        nodeA.onConnect("s1", "alice@example.com");
+        long before = nodeA.currentSequence();
+
+        nodeA.clearAll();
+
+        assertThat(nodeB.getOnlineCount()).isZero();
+        assertThat(nodeB.getSessionCount()).isZero();
+        assertThat(nodeB.currentSequence()).isGreaterThan(before);
+        nodeB.pollChanges();
+        assertThat(resetsB).containsExactly(nodeB.currentSequence());
+    }
+}
@@ -0,0 +1,344 @@
+package com.company.dotaadminbackend.config;
+
+import com.company.dotaadminbackend.application.PresencePublisher;
+import com.company.dotaadminbackend.application.PresenceSnapshot;
+import com.company.dotaadminbackend.application.RedisPresenceStore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RedisBrokerRelay - 실제 Redis(컨테이너) pub/sub 대상 검증, Docker 가 없으면 건너뜀
+ * 두 relay 인스턴스(nodeId 다름)의 brokerChannel 을 수신 목록으로 대체해 두 노드를 흉내낸다
+ * presence 수렴 테스트는 노드마다 RedisPresenceStore + PresencePublisher + 중계를 함께 띄운다
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RedisBrokerRelayTest {
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    // application.yml 의 app.websocket.relay.exclude 기본값과 같게
+    private static final String[] RELAY_EXCLUDES = {"/topic/presence", "/topic/challenges/*/presence"};
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redis;
+    private final CapturingChannel brokerA = new CapturingChannel();
+    private final CapturingChannel brokerB = new CapturingChannel();
+    private final SimpleMeterRegistry metricsA = new SimpleMeterRegistry();
+    private RedisBrokerRelay nodeA;
+    private RedisBrokerRelay nodeB;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redis = new StringRedisTemplate(connectionFactory);
+
+        nodeA = newNode(redis, "node-a", brokerA, metricsA);
+        nodeB = newNode(redis, "node-b", brokerB, new SimpleMeterRegistry());
+    }
+
+    private RedisBrokerRelay newNode(StringRedisTemplate redis, String nodeId, MessageChannel broker,
+            SimpleMeterRegistry registry) {
+        RedisBrokerRelay relay = new RedisBrokerRelay(redis, broker, new ObjectMapper(), registry,
+                "ws:relay-test", new String[] {"/topic/**"}, RELAY_EXCLUDES,
+                5, 256, 10_000, nodeId);
+        relay.start();
+        return relay;
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        nodeA.stop();
+        nodeB.stop();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void topicMessageReachesOtherNodeOnly() throws Exception {
+        brokerB.expect(1);
+
+        Message<?> original = topicMessage("/topic/notices", "{\"type\":\"NOTICE\"}");
+        assertThat(nodeA.preSend(original, brokerA)).isSameAs(original); // 로컬 전달은 그대로
+
+        assertThat(brokerB.await()).isTrue();
+        Message<?> relayed = brokerB.messages.get(0);
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(relayed);
+        assertThat(accessor.getDestination()).isEqualTo("/topic/notices");
+        assertThat(accessor.getContentType()).isEqualTo(MimeTypeUtils.APPLICATION_JSON);
+        assertThat(accessor.getHeader(RedisBrokerRelay.ORIGIN_HEADER)).isEqualTo(nodeA.getOrigin());
+        assertThat(new String((byte[]) relayed.getPayload(), StandardCharsets.UTF_8))
+                .isEqualTo("{\"type\":\"NOTICE\"}");
+
+        // 자기 자신이 발행한 배치는 다시 주입하지 않음
+        Thread.sleep(200);
+        assertThat(brokerA.messages).isEmpty();
+    }
+
+    @Test
+    void relayedMessageIsNotPublishedAgain() throws Exception {
+        brokerB.expect(1);
+        nodeA.preSend(topicMessage("/topic/notices", "{}"), brokerA);
+        assertThat(brokerB.await()).isTrue();
+
+        // node-b 의 brokerChannel 에 재주입된 메시지가 다시 인터셉터를 지나도 중계되지 않아야 함
+        nodeB.preSend(brokerB.messages.get(0), brokerB);
+        Thread.sleep(200);
+        assertThat(brokerA.messages).isEmpty();
+    }
+
+    @Test
+    void burstIsBatchedAndKeepsOrder() throws Exception {
+        int count = 500;
+        brokerB.expect(count);
+
+        for (int i = 0; i < count; i++) {
+            nodeA.preSend(topicMessage("/topic/notices", "{\"n\":" + i + "}"), brokerA);
+        }
+
+        assertThat(brokerB.await()).isTrue();
+        for (int i = 0; i < count; i++) {
+            assertThat(new String((byte[]) brokerB.messages.get(i).getPayload(), StandardCharsets.UTF_8))
+                    .isEqualTo("{\"n\":" + i + "}");
+        }
+        double batches = metricsA.get("websocket.relay.batches").tag("direction", "out").counter().count();
+        assertThat(batches).isGreaterThan(0).isLessThan(count);
+    }
+
+    @Test
+    void onlyConfiguredTopicsAreRelayed() {
+        assertThat(nodeA.isRelayed("/topic/notices")).isTrue();
+        assertThat(nodeA.isRelayed("/topic/presence")).isFalse();
+        assertThat(nodeA.isRelayed("/topic/challenges/7/presence")).isFalse();
+        assertThat(nodeA.isRelayed("/queue/notifications-user1")).isFalse();
+        assertThat(nodeA.isRelayed(null)).isFalse();
+    }
+
+    @Test
+    void clientConvergesToPresenceOfBothNodesWhileTheyChangeConcurrently() throws Exception {
+        redis.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+        PresenceNode presenceA = new PresenceNode(redis, "node-a");
+        PresenceNode presenceB = new PresenceNode(redis, "node-b");
+        try {
+            PresenceClient client = new PresenceClient(presenceA.publisher);
+            presenceA.broker.subscribe(client);
+
+            int usersPerNode = 100;
+            ExecutorService pool = Executors.newFixedThreadPool(2);
+            CountDownLatch start = new CountDownLatch(1);
+            try {
+                List<Future<?>> tasks = List.of(
+                        pool.submit(() -> { start.await(); churn(presenceA.store, "a", usersPerNode); return null; }),
+                        pool.submit(() -> { start.await(); churn(presenceB.store, "b", usersPerNode); return null; }));
+                start.countDown();
+                for (Future<?> task : tasks) {
+                    task.get();
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+            // 마지막 구간이 상쇄돼 전송이 미뤄지지 않도록 확정 변경 1개
+            presenceB.store.onConnect("marker", "marker@example.com");
+
+            Set<String> expected = new HashSet<>(presenceB.store.getOnlineUsers());
+            long last = presenceB.store.currentSequence();
+            assertThat(expected).contains("a1@example.com", "b1@example.com", "marker@example.com")
+                    .doesNotContain("a0@example.com", "b0@example.com");
+
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (client.lastSeq() < last && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertThat(client.lastSeq()).isEqualTo(last);
+            assertThat(client.online()).isEqualTo(expected);
+            // 두 노드의 변경이 한 노드의 배치에 seq 순서대로 이어져 도착 - 스냅샷 재조회 없음, 다른 노드 배치 중계 없음
+            assertThat(client.resyncs()).isZero();
+            assertThat(client.relayed()).isZero();
+        } finally {
+            presenceA.stop();
+            presenceB.stop();
+        }
+    }
+
+    // 짝수 번째 사용자는 접속 후 해제, 홀수 번째는 접속 유지
+    private static void churn(RedisPresenceStore store, String node, int users) {
+        for (int i = 0; i < users; i++) {
+            store.onConnect(node + "-s" + i, node + i + "@example.com");
+        }
+        for (int i = 0; i < users; i += 2) {
+            store.onDisconnect(node + "-s" + i);
+        }
+    }
+
+    private static Message<byte[]> topicMessage(String destination, String json) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        return MessageBuilder.createMessage(json.getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders());
+    }
+
+    /**
+     * presence 를 쓰는 노드 1개 - RedisPresenceStore + PresencePublisher + simple broker 자리의 brokerChannel + 중계
+     */
+    private static final class PresenceNode {
+        final RedisPresenceStore store;
+        final ExecutorSubscribableChannel broker = new ExecutorSubscribableChannel();
+        final PresencePublisher publisher;
+        final RedisBrokerRelay relay;
+
+        PresenceNode(StringRedisTemplate redis, String nodeId) {
+            store = new RedisPresenceStore(redis, "{relay-presence-test}:", nodeId, 30_000, 20, 100_000);
+            store.register();
+            relay = new RedisBrokerRelay(redis, broker, new ObjectMapper(), new SimpleMeterRegistry(),
+                    "ws:relay-presence-test", new String[] {"/topic/**"}, RELAY_EXCLUDES, 5, 256, 10_000, nodeId);
+            broker.addInterceptor(relay);
+            relay.start();
+            publisher = new PresencePublisher(store, new SimpMessagingTemplate(broker), 20, 1000);
+            publisher.start();
+        }
+
+        void stop() throws Exception {
+            publisher.stop();
+            relay.stop();
+            store.deregister();
+        }
+    }
+
+    /**
+     * /topic/presence 구독 클라이언트 - 스냅샷에서 시작해 배치를 이어 적용, seq 가 건너뛰거나 RESET 이면 스냅샷 재조회
+     */
+    private static final class PresenceClient implements MessageHandler {
+        private final ObjectMapper objectMapper = new ObjectMapper();
+        private final PresencePublisher publisher;
+        private final Set<String> online = new HashSet<>();
+        private long lastSeq;
+        private int resyncs;
+        private int relayed;
+
+        PresenceClient(PresencePublisher publisher) {
+            this.publisher = publisher;
+            resync();
+            resyncs = 0;
+        }
+
+        @Override
+        public synchronized void handleMessage(Message<?> message) {
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+            if (!PresencePublisher.TOPIC.equals(accessor.getDestination())) {
+                return;
+            }
+            if (accessor.getHeader(RedisBrokerRelay.ORIGIN_HEADER) != null) {
+                relayed++;
+            }
+            JsonNode payload;
+            try {
+                payload = objectMapper.readTree((byte[]) message.getPayload());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            if ("PRESENCE_RESET".equals(payload.get("type").asText())) {
+                resync();
+                return;
+            }
+            long fromSeq = payload.get("fromSeq").asLong();
+            long toSeq = payload.get("toSeq").asLong();
+            if (toSeq <= lastSeq) {
+                return; // 이미 반영된 구간
+            }
+            if (fromSeq > lastSeq + 1) {
+                resync();
+                return;
+            }
+            payload.get("joined").forEach(user -> online.add(user.asText()));
+            payload.get("left").forEach(user -> online.remove(user.asText()));
+            lastSeq = toSeq;
+        }
+
+        private void resync() {
+            PresenceSnapshot snapshot = publisher.snapshot();
+            online.clear();
+            online.addAll(snapshot.online());
+            lastSeq = snapshot.seq();
+            resyncs++;
+        }
+
+        synchronized long lastSeq() {
+            return lastSeq;
+        }
+
+        synchronized Set<String> online() {
+            return new HashSet<>(online);
+        }
+
+        synchronized int resyncs() {
+            return resyncs;
+        }
+
+        synchronized int relayed() {
+            return relayed;
+        }
+    }
+
+    /**
+     * brokerChannel 대체 - 받은 메시지를 순서대로 보관
+     */
+    private static final class CapturingChannel implements MessageChannel {
+        final List<Message<?>> messages = new CopyOnWriteArrayList<>();
+        private volatile CountDownLatch latch = new CountDownLatch(0);
+
+        void expect(int count) {
+            latch = new CountDownLatch(count);
+        }
+
+        boolean await() throws InterruptedException {
+            return latch.await(10, TimeUnit.SECONDS);
+        }
+
+        @Override
+        public boolean send(Message<?> message, long timeout) {
+            messages.add(message);
+            latch.countDown();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.company.dotaadminbackend.controller;
+
+import com.company.dotaadminbackend.application.ChallengeRoomPresence;
+import com.company.dotaadminbackend.application.SessionActivityTracker;
+import com.company.dotaadminbackend.application.SimplePresenceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.security.Principal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * /app/presence/auth 가 연결 해제 뒤에 처리돼도 세션을 되살리지 않는지
+ * CONNECT/DISCONNECT 는 WebSocketEventListener 와 같은 순서로 호출해 흉내낸다
+ */
+class WebSocketPresenceMessageControllerTest {
+
+    private static final String USER = "alice@example.com";
+    private static final Principal PRINCIPAL = () -> USER;
+
+    private SimplePresenceService presenceService;
+    private ChallengeRoomPresence challengeRoomPresence;
+    private SessionActivityTracker sessionActivityTracker;
+    private final WebSocketPresenceMessageController controller = new WebSocketPresenceMessageController();
+
+    @BeforeEach
+    void setUp() {
+        presenceService = new SimplePresenceService();
+        challengeRoomPresence = new ChallengeRoomPresence(new SimpMessagingTemplate((message, timeout) -> true), 250, 100);
+        sessionActivityTracker = new SessionActivityTracker(presenceService, challengeRoomPresence, true, 60_000, 1_000);
+    }
+
+    @Test
+    void authMessageHandledAfterDisconnectDoesNotResurrectSession() {
+        connect("s1");
+        disconnect("s1");
+
+        controller.handleAuth(PRINCIPAL, "s1"); // inbound executor 에 밀려 있다가 연결 해제 뒤에 처리된 메시지
+        sessionActivityTracker.touch("s1");
+
+        assertThat(presenceService.isOnline(USER)).isFalse();
+        assertThat(presenceService.getSessionCount()).isZero();
+        assertThat(sessionActivityTracker.getTrackedCount()).isZero();
+    }
+
+    @Test
+    void authMessageOnLiveSessionDoesNotAddSession() {
+        connect("s1");
+
+        controller.handleAuth(PRINCIPAL, "s1");
+
+        assertThat(presenceService.getSessionCount(USER)).isEqualTo(1);
+        disconnect("s1");
+        assertThat(presenceService.isOnline(USER)).isFalse();
+    }
+
+    private void connect(String sessionId) {
+        presenceService.onConnect(sessionId, USER);
+        sessionActivityTracker.track(sessionId, USER);
+    }
+
+    private void disconnect(String sessionId) {
+        sessionActivityTracker.untrack(sessionId);
+        challengeRoomPresence.onDisconnect(sessionId);
+        presenceService.onDisconnect(sessionId);
+    }
+}
@@ -0,0 +1,129 @@
+package com.company.dotaadminbackend.loadtest;
+
+import com.company.dotaadminbackend.application.ChallengeService;
+import com.company.dotaadminbackend.infrastructure.adapter.ChallengeRepository;
+import com.company.dotaadminbackend.infrastructure.entity.ChallengeEntity;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 한 챌린지에 동시 참가 폭주 - 참가/탈퇴가 행 단위 insert/delete 로 정확히 반영되는지와 지연 측정
+ * - 서로 다른 사용자 N명 동시 참가 → 참가자 수 = N (유실 없음)
+ * - 같은 사용자의 동시 중복 참가 → 1건만 성공
+ * - 탈퇴와 새 참가가 섞인 동시 요청 → 최종 참가자 수 일치
+ *
+ * 일반 test 에서는 실행되지 않음 - ./gradlew loadTest [-Ploadtest.joiners=1000]
+ */
+@SpringBootTest(properties = {
+    "logging.level.root=WARN",
+    "logging.level.com.company.dotaadminbackend=WARN"
+})
+@ActiveProfiles("h2")
+@Tag("loadtest")
+@EnabledIfSystemProperty(named = "loadtest.enabled", matches = "true")
+class ChallengeJoinLoadTest {
+
+    private static final long AUTHOR_ID = 1L;
+    private static final long FIRST_WAVE = 100_000L;
+    private static final long SECOND_WAVE = 200_000L;
+    private static final long DUPLICATE_USER = 300_000L;
+
+    @Autowired
+    private ChallengeService challengeService;
+
+    @Autowired
+    private ChallengeRepository challengeRepository;
+
+    private final int joiners = Integer.getInteger("loadtest.joiners", 500);
+    private final int duplicateAttempts = Integer.getInteger("loadtest.duplicate-attempts", 50);
+
+    @Test
+    void concurrentJoinersOnOneChallenge() throws Exception {
+        Long challengeId = challengeRepository.save(new ChallengeEntity("join storm", "concurrent participation",
+                AUTHOR_ID, LocalDate.now(), LocalDate.now().plusDays(7))).getId();
+
+        // 1) 서로 다른 사용자 동시 참가
+        LatencyRecorder joins = runConcurrently(joiners,
+                i -> challengeService.participateInChallenge(challengeId, FIRST_WAVE + i));
+        report("join", joins);
+        assertThat(joins.failures()).isZero();
+        assertThat(challengeService.getParticipantCount(challengeId)).isEqualTo(joiners);
+
+        // 2) 같은 사용자 동시 중복 참가 → 1건만 성공, 나머지는 "이미 참여" 로 거절
+        LatencyRecorder duplicates = runConcurrently(duplicateAttempts,
+                i -> challengeService.participateInChallenge(challengeId, DUPLICATE_USER));
+        report("duplicate", duplicates);
+        assertThat(duplicates.count()).isEqualTo(1);
+        assertThat(duplicates.failures()).isEqualTo(duplicateAttempts - 1);
+        assertThat(challengeService.getParticipantCount(challengeId)).isEqualTo(joiners + 1);
+
+        // 3) 짝수 번째 사용자 탈퇴 + 새 사용자 참가를 동시에
+        LatencyRecorder mixed = runConcurrently(joiners, i -> {
+            if (i % 2 == 0) {
+                challengeService.leaveChallenge(challengeId, FIRST_WAVE + i);
+            } else {
+                challengeService.participateInChallenge(challengeId, SECOND_WAVE + i);
+            }
+        });
+        report("leave/join", mixed);
+        assertThat(mixed.failures()).isZero();
+        int leaves = (joiners + 1) / 2;
+        int newJoins = joiners / 2;
+        assertThat(challengeService.getParticipantCount(challengeId)).isEqualTo(joiners + 1 - leaves + newJoins);
+        assertThat(challengeService.isParticipant(challengeId, FIRST_WAVE)).isFalse();
+        assertThat(challengeService.isParticipant(challengeId, FIRST_WAVE + 1)).isTrue();
+    }
+
+    /**
+     * 작업 count 개를 가상 스레드에서 동시에 시작 - 성공은 지연 기록, IllegalStateException 은 실패로 집계
+     * 그 밖의 예외는 테스트 실패
+     */
+    private static LatencyRecorder runConcurrently(int count, IntConsumer task) throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        List<Throwable> unexpected = new CopyOnWriteArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(count);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                executor.submit(() -> {
+                    try {
+                        start.await();
+                        long begin = System.nanoTime();
+                        task.accept(index);
+                        recorder.record(System.nanoTime() - begin);
+                    } catch (IllegalStateException e) {
+                        recorder.fail();
+                    } catch (Throwable e) {
+                        unexpected.add(e);
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            start.countDown();
+            assertThat(done.await(2, TimeUnit.MINUTES)).as("all operations finished").isTrue();
+        }
+        assertThat(unexpected).as("unexpected errors").isEmpty();
+        return recorder;
+    }
+
+    private static void report(String phase, LatencyRecorder recorder) {
+        System.out.println("[loadtest] challenge " + phase + ": " + recorder.summary());
+    }
+}
@@ -0,0 +1,70 @@
+package com.company.dotaadminbackend.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 지연 시간 샘플(ns) 수집 → 백분위 요약 (ms)
+ * 샘플 수가 수만 개 수준이라 전부 보관 후 정렬 (히스토그램 근사 없음)
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int size;
+    private long failures;
+
+    synchronized void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+    }
+
+    synchronized void fail() {
+        failures++;
+    }
+
+    synchronized int count() {
+        return size;
+    }
+
+    synchronized long failures() {
+        return failures;
+    }
+
+    /**
+     * @param p 0~100
+     * @return 백분위 값(ms), 샘플이 없으면 0
+     */
+    synchronized double percentileMs(double p) {
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        return percentile(sorted, p);
+    }
+
+    synchronized Map<String, Object> summary() {
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", size);
+        summary.put("failures", failures);
+        summary.put("p50Ms", percentile(sorted, 50));
+        summary.put("p90Ms", percentile(sorted, 90));
+        summary.put("p99Ms", percentile(sorted, 99));
+        summary.put("maxMs", size == 0 ? 0.0 : toMs(sorted[size - 1]));
+        return summary;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return toMs(sorted[Math.max(0, Math.min(sorted.length - 1, index))]);
+    }
+
+    private static double toMs(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
@@ -0,0 +1,519 @@
+package com.company.dotaadminbackend.loadtest;
+
+import com.company.dotaadminbackend.application.PresencePublisher;
+import com.company.dotaadminbackend.application.PresenceStore;
+import com.company.dotaadminbackend.config.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.messaging.converter.CompositeMessageConverter;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 인프로세스 presence 부하 테스트 하네스
+ * - h2 프로필로 앱을 임의 포트에 기동하고 WebSocketStompClient 수천 개를 가상 스레드로 접속시킨다
+ * - 단계: 접속 폭주 → 활동(/app/presence/activity) + 일부 재접속(churn) → fan-out 측정(probe) → 일괄 해제
+ * - 결과: 접속 지연 백분위, 브로드캐스트 fan-out 지연, heap/CPU 를 build/reports/loadtest/ 에 JSON 으로 저장
+ *   loadtest.baseline 을 주면 주요 지표를 비교해 tolerance 이상 나빠졌을 때 실패
+ *
+ * 일반 test 에서는 실행되지 않음 - ./gradlew loadTest [-Ploadtest.clients=5000 -Ploadtest.baseline=...]
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "logging.level.root=WARN",
+    "logging.level.com.company.dotaadminbackend=WARN",
+    "server.tomcat.max-connections=20000",
+    "server.tomcat.accept-count=2000"
+})
+@ActiveProfiles("h2")
+@Tag("loadtest")
+@EnabledIfSystemProperty(named = "loadtest.enabled", matches = "true")
+class PresenceLoadTest {
+
+    private static final String PROBE_PREFIX = "loadtest-probe-";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private PresenceStore presenceStore;
+
+    private final Settings settings = Settings.fromSystemProperties();
+    private final List<LoadClient> clients = Collections.synchronizedList(new ArrayList<>());
+    private final Map<String, Probe> probes = new ConcurrentHashMap<>();
+
+    private final LatencyRecorder connectLatency = new LatencyRecorder();
+    private final LatencyRecorder reconnectLatency = new LatencyRecorder();
+    private final LatencyRecorder fanoutLatency = new LatencyRecorder();
+    private final LatencyRecorder fanoutCompleteLatency = new LatencyRecorder();
+    private final AtomicLong activitySent = new AtomicLong();
+    private final AtomicLong activityFailed = new AtomicLong();
+
+    private ExecutorService workers;
+    private ThreadPoolTaskScheduler heartbeatScheduler;
+    private WebSocketStompClient stompClient;
+    private String url;
+
+    @BeforeEach
+    void setUp() {
+        workers = Executors.newVirtualThreadPerTaskExecutor();
+
+        heartbeatScheduler = new ThreadPoolTaskScheduler();
+        heartbeatScheduler.setPoolSize(4);
+        heartbeatScheduler.setThreadNamePrefix("loadtest-heartbeat-");
+        heartbeatScheduler.initialize();
+
+        SimpleAsyncTaskExecutor connectExecutor = new SimpleAsyncTaskExecutor("loadtest-ws-");
+        connectExecutor.setVirtualThreads(true);
+        StandardWebSocketClient webSocketClient = new StandardWebSocketClient();
+        webSocketClient.setTaskExecutor(connectExecutor);
+
+        stompClient = new WebSocketStompClient(webSocketClient);
+        stompClient.setMessageConverter(new CompositeMessageConverter(
+                List.of(new StringMessageConverter(), new MappingJackson2MessageConverter())));
+        stompClient.setTaskScheduler(heartbeatScheduler);
+        stompClient.setDefaultHeartbeat(new long[] {settings.heartbeatMs, settings.heartbeatMs});
+
+        url = "ws://localhost:" + port + "/ws";
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (LoadClient client : clients) {
+            client.disconnect();
+        }
+        workers.shutdownNow();
+        heartbeatScheduler.shutdown();
+    }
+
+    @Test
+    void presenceUnderLoad() throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("settings", settings.toMap());
+
+        try (ResourceSampler sampler = new ResourceSampler(settings.sampleIntervalMs)) {
+            sampler.start();
+
+            // 1) 접속 폭주
+            long connectStart = System.nanoTime();
+            List<LoadClient> batch = new ArrayList<>(settings.clients);
+            for (int i = 0; i < settings.clients; i++) {
+                batch.add(new LoadClient("loadtest-user-" + i + "@example.com",
+                        i < Math.round(settings.clients * settings.subscriberRatio)));
+            }
+            runAll(batch, client -> client.connect(connectLatency), settings.connectConcurrency);
+            report.put("connectWallMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - connectStart));
+            clients.addAll(batch);
+            awaitQuiet();
+
+            // 2) 활동 + churn (일부 클라이언트 해제 후 재접속)
+            runActivityAndChurn();
+            awaitQuiet();
+
+            // 3) fan-out: 새 사용자가 접속한 시점부터 구독자들이 PRESENCE_BATCH(joined) 를 받기까지
+            for (int i = 0; i < settings.probes; i++) {
+                runProbe(i);
+            }
+
+            // 4) 일괄 해제 → 서버 presence 가 비워지기까지
+            long disconnectStart = System.nanoTime();
+            runAll(new ArrayList<>(clients), LoadClient::disconnect, settings.connectConcurrency);
+            clients.clear();
+            long deadline = System.currentTimeMillis() + settings.timeoutMs;
+            while ((presenceStore.getOnlineCount() > 0 || presenceStore.getSessionCount() > 0)
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            report.put("disconnectDrainMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - disconnectStart));
+            report.put("onlineAfterDrain", presenceStore.getOnlineCount());
+
+            report.put("connect", connectLatency.summary());
+            report.put("reconnect", reconnectLatency.summary());
+            report.put("fanout", fanoutLatency.summary());
+            report.put("fanoutComplete", fanoutCompleteLatency.summary());
+            report.put("activity", Map.of("sent", activitySent.get(), "failed", activityFailed.get()));
+            report.put("resources", sampler.summary());
+        }
+
+        Path reportFile = writeReport(report);
+        System.out.println("[loadtest] report: " + reportFile.toAbsolutePath());
+        System.out.println(new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(report));
+
+        assertThat(connectLatency.failures())
+                .as("connect failures")
+                .isLessThanOrEqualTo(Math.round(settings.clients * settings.maxFailureRatio));
+        assertThat(report.get("onlineAfterDrain")).as("online users after disconnect").isEqualTo(0);
+        if (settings.probes > 0 && settings.subscriberRatio > 0) {
+            assertThat(fanoutLatency.count()).as("fan-out deliveries").isPositive();
+        }
+
+        List<String> regressions = compareWithBaseline(report);
+        assertThat(regressions).as("regressions against baseline " + settings.baseline).isEmpty();
+    }
+
+    // ---- 단계 ----
+
+    private void runActivityAndChurn() throws InterruptedException {
+        long end = System.currentTimeMillis() + settings.activityDurationMs;
+        List<LoadClient> snapshot = new ArrayList<>(clients);
+        CountDownLatch done = new CountDownLatch(snapshot.size());
+        for (LoadClient client : snapshot) {
+            workers.submit(() -> {
+                try {
+                    client.activityLoop(end);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        int churn = (int) Math.round(snapshot.size() * settings.churnRatio);
+        List<LoadClient> churned = new ArrayList<>(snapshot);
+        Collections.shuffle(churned);
+        CountDownLatch churnDone = new CountDownLatch(churn);
+        for (LoadClient client : churned.subList(0, churn)) {
+            long offset = ThreadLocalRandom.current().nextLong(Math.max(1, settings.activityDurationMs / 2));
+            workers.submit(() -> {
+                try {
+                    Thread.sleep(offset);
+                    client.disconnect();
+                    Thread.sleep(settings.churnPauseMs);
+                    client.connect(reconnectLatency);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    churnDone.countDown();
+                }
+            });
+        }
+
+        done.await(settings.activityDurationMs + settings.timeoutMs, TimeUnit.MILLISECONDS);
+        churnDone.await(settings.timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void runProbe(int index) throws InterruptedException {
+        int expected = 0;
+        for (LoadClient client : clients) {
+            if (client.subscriber && client.isConnected()) {
+                expected++;
+            }
+        }
+        LoadClient probeClient = new LoadClient(PROBE_PREFIX + index + "@example.com", false);
+        Probe probe = new Probe(expected);
+        probes.put(probeClient.userId, probe);
+
+        probe.startNanos = System.nanoTime();
+        probeClient.connect(new LatencyRecorder());
+        // 받을 구독자가 없으면 (subscriber-ratio 0) 접속만 하고 넘어감
+        if (expected > 0) {
+            if (probe.done.await(settings.timeoutMs, TimeUnit.MILLISECONDS)) {
+                fanoutCompleteLatency.record(probe.lastNanos - probe.startNanos);
+            } else {
+                fanoutCompleteLatency.fail();
+            }
+        }
+        probes.remove(probeClient.userId);
+        probeClient.disconnect();
+        awaitQuiet();
+    }
+
+    private void runAll(List<LoadClient> targets, ClientAction action, int concurrency) throws InterruptedException {
+        Semaphore permits = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(targets.size());
+        for (LoadClient client : targets) {
+            permits.acquire();
+            workers.submit(() -> {
+                try {
+                    action.run(client);
+                } finally {
+                    permits.release();
+                    done.countDown();
+                }
+            });
+        }
+        done.await(settings.timeoutMs * Math.max(1, targets.size() / concurrency), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 브로드캐스트 window 여러 개가 지나도록 대기 - 이전 단계의 PRESENCE_BATCH 가 다음 측정에 섞이지 않게
+     */
+    private void awaitQuiet() throws InterruptedException {
+        Thread.sleep(settings.settleMs);
+    }
+
+    // ---- 보고서 ----
+
+    private Path writeReport(Map<String, Object> report) throws IOException {
+        Path dir = Path.of(settings.reportDir);
+        Files.createDirectories(dir);
+        ObjectMapper mapper = new ObjectMapper();
+        Path file = dir.resolve("presence-" + System.currentTimeMillis() + ".json");
+        mapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        Files.copy(file, dir.resolve("presence-latest.json"), StandardCopyOption.REPLACE_EXISTING);
+        if (settings.writeBaseline && settings.baseline != null) {
+            Path baseline = Path.of(settings.baseline);
+            if (baseline.getParent() != null) {
+                Files.createDirectories(baseline.getParent());
+            }
+            Files.copy(file, baseline, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return file;
+    }
+
+    /**
+     * baseline 대비 (1 + tolerance) 배를 넘은 지표 목록 (작은 값의 잡음은 절대 여유 1 로 흡수)
+     */
+    @SuppressWarnings("unchecked")
+    private List<String> compareWithBaseline(Map<String, Object> report) throws IOException {
+        List<String> regressions = new ArrayList<>();
+        if (settings.baseline == null || settings.writeBaseline || !Files.exists(Path.of(settings.baseline))) {
+            return regressions;
+        }
+        Map<String, Object> baseline = new ObjectMapper().readValue(Path.of(settings.baseline).toFile(), Map.class);
+        Map<String, Object> current = new ObjectMapper().convertValue(report, Map.class);
+        for (String metric : List.of("connect.p50Ms", "connect.p99Ms", "fanout.p50Ms", "fanout.p99Ms",
+                "fanoutComplete.p99Ms", "disconnectDrainMs", "resources.heapMaxUsedMb")) {
+            Double before = lookup(baseline, metric);
+            Double after = lookup(current, metric);
+            if (before == null || after == null) {
+                continue;
+            }
+            if (after > before * (1 + settings.tolerance) + 1) {
+                regressions.add(metric + ": " + before + " -> " + after);
+            }
+        }
+        return regressions;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Double lookup(Map<String, Object> root, String path) {
+        Object node = root;
+        for (String key : path.split("\\.")) {
+            if (!(node instanceof Map<?, ?> map)) {
+                return null;
+            }
+            node = ((Map<String, Object>) map).get(key);
+        }
+        return node instanceof Number number ? number.doubleValue() : null;
+    }
+
+    // ---- 클라이언트 ----
+
+    @FunctionalInterface
+    private interface ClientAction {
+        void run(LoadClient client);
+    }
+
+    private static final class Probe {
+        final CountDownLatch done;
+        volatile long startNanos;
+        volatile long lastNanos;
+
+        Probe(int expected) {
+            this.done = new CountDownLatch(expected);
+        }
+    }
+
+    private final class LoadClient extends StompSessionHandlerAdapter implements StompFrameHandler {
+        final String userId;
+        final boolean subscriber;
+        private volatile StompSession session;
+
+        LoadClient(String userId, boolean subscriber) {
+            this.userId = userId;
+            this.subscriber = subscriber;
+        }
+
+        boolean isConnected() {
+            StompSession current = session;
+            return current != null && current.isConnected();
+        }
+
+        void connect(LatencyRecorder recorder) {
+            WebSocketHttpHeaders handshakeHeaders = new WebSocketHttpHeaders();
+            StompHeaders connectHeaders = new StompHeaders();
+            connectHeaders.add("Authorization", "Bearer " + jwtUtil.generateToken(userId, "USER"));
+            long start = System.nanoTime();
+            try {
+                // CONNECTED 프레임 수신까지 (WebSocket 핸드셰이크 + STOMP 인증 포함)
+                session = stompClient.connectAsync(url, handshakeHeaders, connectHeaders, this)
+                        .get(settings.timeoutMs, TimeUnit.MILLISECONDS);
+                recorder.record(System.nanoTime() - start);
+                if (settings.sendConnectSignal) {
+                    session.send("/app/presence/connect", "connect");
+                }
+            } catch (Exception e) {
+                recorder.fail();
+            }
+        }
+
+        void disconnect() {
+            StompSession current = session;
+            session = null;
+            if (current != null && current.isConnected()) {
+                try {
+                    current.disconnect();
+                } catch (Exception ignored) {
+                    // 이미 끊긴 세션
+                }
+            }
+        }
+
+        void activityLoop(long endMillis) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            try {
+                // 모든 클라이언트가 같은 순간에 보내지 않도록 시작 시점을 분산
+                Thread.sleep(random.nextLong(Math.max(1, settings.activityIntervalMs)));
+                while (System.currentTimeMillis() < endMillis) {
+                    StompSession current = session;
+                    if (current != null && current.isConnected()) {
+                        try {
+                            current.send("/app/presence/activity", "ping");
+                            activitySent.incrementAndGet();
+                        } catch (Exception e) {
+                            activityFailed.incrementAndGet();
+                        }
+                    }
+                    Thread.sleep(settings.activityIntervalMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void afterConnected(StompSession session, StompHeaders connectedHeaders) {
+            if (subscriber) {
+                session.subscribe(PresencePublisher.TOPIC, this);
+            }
+        }
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return Map.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            if (probes.isEmpty() || !(payload instanceof Map<?, ?> message)
+                    || !"PRESENCE_BATCH".equals(message.get("type"))
+                    || !(message.get("joined") instanceof List<?> joined)) {
+                return;
+            }
+            long now = System.nanoTime();
+            for (Object joinedUser : joined) {
+                Probe probe = probes.get(String.valueOf(joinedUser));
+                if (probe != null) {
+                    fanoutLatency.record(now - probe.startNanos);
+                    probe.lastNanos = Math.max(probe.lastNanos, now);
+                    probe.done.countDown();
+                }
+            }
+        }
+    }
+
+    // ---- 설정 (-Dloadtest.* / ./gradlew loadTest -Ploadtest.*) ----
+
+    private record Settings(
+            int clients,
+            int connectConcurrency,
+            double subscriberRatio,
+            long activityIntervalMs,
+            long activityDurationMs,
+            double churnRatio,
+            long churnPauseMs,
+            int probes,
+            long heartbeatMs,
+            boolean sendConnectSignal,
+            long settleMs,
+            long timeoutMs,
+            long sampleIntervalMs,
+            double maxFailureRatio,
+            String reportDir,
+            String baseline,
+            boolean writeBaseline,
+            double tolerance) {
+
+        static Settings fromSystemProperties() {
+            return new Settings(
+                    Integer.getInteger("loadtest.clients", 2000),
+                    Integer.getInteger("loadtest.connect-concurrency", 200),
+                    doubleProperty("loadtest.subscriber-ratio", 1.0),
+                    Long.getLong("loadtest.activity-interval-ms", 5000),
+                    Long.getLong("loadtest.activity-duration-ms", 20000),
+                    doubleProperty("loadtest.churn-ratio", 0.1),
+                    Long.getLong("loadtest.churn-pause-ms", 200),
+                    Integer.getInteger("loadtest.probes", 20),
+                    Long.getLong("loadtest.heartbeat-ms", 10000),
+                    Boolean.parseBoolean(System.getProperty("loadtest.send-connect-signal", "true")),
+                    Long.getLong("loadtest.settle-ms", 1000),
+                    Long.getLong("loadtest.timeout-ms", 30000),
+                    Long.getLong("loadtest.sample-interval-ms", 250),
+                    doubleProperty("loadtest.max-failure-ratio", 0.01),
+                    System.getProperty("loadtest.report-dir", "build/reports/loadtest"),
+                    System.getProperty("loadtest.baseline"),
+                    Boolean.getBoolean("loadtest.write-baseline"),
+                    doubleProperty("loadtest.tolerance", 0.25));
+        }
+
+        private static double doubleProperty(String name, double defaultValue) {
+            String value = System.getProperty(name);
+            return value == null || value.isBlank() ? defaultValue : Double.parseDouble(value);
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("clients", clients);
+            map.put("connectConcurrency", connectConcurrency);
+            map.put("subscriberRatio", subscriberRatio);
+            map.put("activityIntervalMs", activityIntervalMs);
+            map.put("activityDurationMs", activityDurationMs);
+            map.put("churnRatio", churnRatio);
+            map.put("probes", probes);
+            map.put("heartbeatMs", heartbeatMs);
+            return map;
+        }
+    }
+}
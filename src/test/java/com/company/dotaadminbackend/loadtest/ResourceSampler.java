@@ -0,0 +1,77 @@
+package com.company.dotaadminbackend.loadtest;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 서버(= 테스트 JVM) heap / 프로세스 CPU 주기 샘플링
+ * 하네스가 서버와 같은 JVM 에서 돌기 때문에 클라이언트 부하도 함께 포함된다 (baseline 도 같은 조건이므로 비교에는 문제 없음)
+ */
+final class ResourceSampler implements AutoCloseable {
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final com.sun.management.OperatingSystemMXBean os;
+    private final Thread thread;
+
+    private long samples;
+    private long maxHeapUsed;
+    private long lastHeapUsed;
+    private double cpuSum;
+    private long cpuSamples;
+    private double maxCpu;
+
+    ResourceSampler(long intervalMs) {
+        OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+        this.os = bean instanceof com.sun.management.OperatingSystemMXBean sun ? sun : null;
+        this.thread = Thread.ofPlatform().daemon().name("loadtest-sampler").unstarted(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                sample();
+                try {
+                    Thread.sleep(intervalMs);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    private synchronized void sample() {
+        long used = memory.getHeapMemoryUsage().getUsed();
+        samples++;
+        lastHeapUsed = used;
+        maxHeapUsed = Math.max(maxHeapUsed, used);
+        if (os != null) {
+            double cpu = os.getProcessCpuLoad();
+            if (cpu >= 0) {
+                cpuSum += cpu;
+                cpuSamples++;
+                maxCpu = Math.max(maxCpu, cpu);
+            }
+        }
+    }
+
+    synchronized Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("samples", samples);
+        summary.put("heapMaxUsedMb", maxHeapUsed / (1024 * 1024));
+        summary.put("heapLastUsedMb", lastHeapUsed / (1024 * 1024));
+        summary.put("heapLimitMb", memory.getHeapMemoryUsage().getMax() / (1024 * 1024));
+        summary.put("cpuAvgPercent", cpuSamples == 0 ? 0.0 : Math.round(cpuSum / cpuSamples * 1000) / 10.0);
+        summary.put("cpuMaxPercent", Math.round(maxCpu * 1000) / 10.0);
+        summary.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        return summary;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        thread.interrupt();
+        thread.join(1000);
+    }
+}